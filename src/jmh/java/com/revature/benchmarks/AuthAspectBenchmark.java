@@ -0,0 +1,147 @@
+package com.revature.benchmarks;
+
+import com.revature.advice.AuthAspect;
+import com.revature.annotations.Authorized;
+import com.revature.dtos.Principal;
+import com.revature.exceptions.UnauthorizedException;
+import com.revature.models.User;
+import com.revature.security.AuthorizationRegistry;
+import com.revature.security.JWTConfig;
+import com.revature.security.TokenGenerator;
+import com.revature.services.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+// An admin-only call through AuthAspect as it is now (requirements precomputed, no console
+// output) against the previous version (annotation read per call, token printed to stdout).
+// Each invocation gets a fresh request, as in production, and the token is served from the
+// verified-token cache so the difference is the aspect itself.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthAspectBenchmark {
+
+    private SecuredController precomputed;
+    private SecuredController previous;
+    private String token;
+    private PrintStream stdout;
+
+    @Setup
+    public void setUp() {
+        JWTConfig jwtConfig = BenchmarkFixtures.jwtConfig();
+        TokenGenerator tokenGenerator = new TokenGenerator(jwtConfig);
+        TokenService tokenService = new TokenService(tokenGenerator, BenchmarkFixtures.tokenValidator(jwtConfig, 10_000));
+
+        User admin = BenchmarkFixtures.user(1);
+        admin.setAdmin(true);
+        token = tokenGenerator.createToken(new Principal(admin));
+
+        // Without a Spring context the registry fills itself on first use instead of at startup
+        precomputed = proxy(new AuthAspect(tokenService, new AuthorizationRegistry(null), new SimpleMeterRegistry()));
+        previous = proxy(new PreviousAuthAspect(tokenService));
+
+        // Keep the old aspect's println from flooding the benchmark output, while still paying for it
+        stdout = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        }, true));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(stdout);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public String precomputedRequirements() {
+        newRequest();
+        return precomputed.adminOnly();
+    }
+
+    @Benchmark
+    public String reflectionPerCall() {
+        newRequest();
+        return previous.adminOnly();
+    }
+
+    private void newRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/product");
+        request.addHeader("Authorization", token);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static SecuredController proxy(Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SecuredController());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    public static class SecuredController {
+        @Authorized(isAdmin = true)
+        public String adminOnly() {
+            return "ok";
+        }
+    }
+
+    // AuthAspect.authenticate before the registry, kept here as the baseline
+    @Aspect
+    public static class PreviousAuthAspect {
+
+        private final TokenService tokenService;
+
+        PreviousAuthAspect(TokenService tokenService) {
+            this.tokenService = tokenService;
+        }
+
+        @Around("@annotation(com.revature.annotations.Authorized)")
+        public Object authenticate(ProceedingJoinPoint pjp) throws Throwable {
+            Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+            Authorized annotation = method.getAnnotation(Authorized.class);
+
+            String token = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
+                    .getRequest()
+                    .getHeader("Authorization");
+            System.out.println(token);
+            if (token == null || token.trim().equals("")) throw new UnauthorizedException("No Authorization token found");
+            Principal principal = tokenService.extractTokenDetails(token);
+            if (annotation.isAdmin() && !principal.isAdmin()) throw new UnauthorizedException("Not an Admin");
+            if (annotation.isActive() && !principal.isActive()) throw new UnauthorizedException("Not an active account");
+
+            return pjp.proceed(pjp.getArgs());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.revature.benchmarks;
+
+import com.revature.models.Order;
+import com.revature.models.Payment;
+import com.revature.models.Product;
+import com.revature.models.ProductReview;
+import com.revature.models.User;
+import com.revature.repositories.TokenRevocationRepository;
+import com.revature.security.JWTConfig;
+import com.revature.security.TokenRevocationList;
+import com.revature.security.TokenValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+
+// Shared test data for the benchmarks. Everything is built by hand so no Spring context
+// or database is needed and only the code under measurement runs.
+final class BenchmarkFixtures {
+
+    // Any 256-bit base64 value will do, it only has to be a valid HS256 key
+    static final String JWT_SECRET = "YmVuY2htYXJrLXNpZ25pbmcta2V5LW5vdC11c2VkLWluLXByb2R1Y3Rpb24=";
+
+    private BenchmarkFixtures() {
+    }
+
+    static JWTConfig jwtConfig() {
+        JWTConfig jwtConfig = new JWTConfig();
+        ReflectionTestUtils.setField(jwtConfig, "salt", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtConfig, "expiration", 24 * 60 * 60 * 1000);
+        ReflectionTestUtils.setField(jwtConfig, "refreshExpiration", 14L * 24 * 60 * 60 * 1000);
+        jwtConfig.createSigningKey();
+        return jwtConfig;
+    }
+
+    // Validator with an empty revocation list, as on a server with nothing revoked
+    static TokenValidator tokenValidator(JWTConfig jwtConfig, long maxCachedTokens) {
+        TokenRevocationRepository repository = stub(TokenRevocationRepository.class,
+                (method, args) -> method.startsWith("find") ? Collections.emptyList() : null);
+        TokenRevocationList revocations = new TokenRevocationList(repository, jwtConfig, null, 100_000, 0.001, new SimpleMeterRegistry());
+        revocations.load();
+        return new TokenValidator(jwtConfig, revocations, maxCachedTokens);
+    }
+
+    static User user(int id) {
+        return new User(id, "user" + id + "@example.com", "Abcdef1!", "Testy", "McTesterson", false, true, null);
+    }
+
+    static Product product(int id) {
+        return new Product(id,
+                20,
+                10.00 + id % 100,
+                "A fancy cap for a fancy person, product number " + id,
+                "https://d3o2e4jr3mxnm3.cloudfront.net/Rocket-Vintage-Chill-Cap_66374_1_lg.png",
+                "Baseball Cap " + id,
+                true);
+    }
+
+    static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            products.add(product(i));
+        }
+        return products;
+    }
+
+    static Order order(int id) {
+        User user = user(id);
+        Payment payment = new Payment("CC" + id, "1111-2222-3333-4444", "123", Date.valueOf("2030-01-01"), user);
+        return new Order(id, user, payment, new Date(System.currentTimeMillis()), "123 Main Street");
+    }
+
+    static ProductReview review(int id, int rating) {
+        return new ProductReview(id, rating, "Would buy again", product(id), user(id));
+    }
+
+    // Minimal interface stub that answers by method name. Cheaper and more predictable
+    // than a Mockito mock, whose invocation bookkeeping would dominate the measurement.
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, BiFunction<String, Object[], Object> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> answers.apply(method.getName(), args));
+    }
+}
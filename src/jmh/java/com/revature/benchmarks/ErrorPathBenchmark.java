@@ -0,0 +1,108 @@
+package com.revature.benchmarks;
+
+import com.revature.advice.RestExceptionHandler;
+import com.revature.dtos.Principal;
+import com.revature.exceptions.ResourceNotFoundException;
+import com.revature.exceptions.UnauthorizedException;
+import com.revature.repositories.OrderRepository;
+import com.revature.security.JWTConfig;
+import com.revature.security.TokenGenerator;
+import com.revature.security.TokenValidator;
+import com.revature.services.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Cost of answering a 404 or a 401, from the throw down in the service to the response the
+// exception handler builds. stackDepth stands in for the servlet, filter, proxy and aspect
+// frames that sit between the controller advice and the service in a real request, since
+// capturing a stack trace costs roughly in proportion to its depth.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    @Param({"10", "150"})
+    public int stackDepth;
+
+    private RestExceptionHandler exceptionHandler;
+    private OrderService orderService;
+    private TokenValidator tokenValidator;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        exceptionHandler = new RestExceptionHandler();
+        OrderRepository orderRepository = BenchmarkFixtures.stub(OrderRepository.class,
+                (method, args) -> "findById".equals(method) ? Optional.empty() : null);
+        orderService = new OrderService(orderRepository, null, null);
+
+        JWTConfig jwtConfig = BenchmarkFixtures.jwtConfig();
+        String token = new TokenGenerator(jwtConfig).createToken(new Principal(BenchmarkFixtures.user(1)));
+        // Same claims, broken signature: fails verification every time, and is never cached
+        tamperedToken = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        tokenValidator = BenchmarkFixtures.tokenValidator(jwtConfig, 0);
+    }
+
+    // ResourceNotFoundException is stackless, so this is the path the application takes
+    @Benchmark
+    public ResponseEntity<Object> notFound() {
+        try {
+            descend(stackDepth, () -> orderService.findById(-1));
+            throw new IllegalStateException("expected a missing order");
+        } catch (ResourceNotFoundException e) {
+            return exceptionHandler.handleResourceNotFoundException(null, e);
+        }
+    }
+
+    // The same failure with a stack trace captured, as every domain exception used to do
+    @Benchmark
+    public ResponseEntity<Object> notFoundWithStackTrace() {
+        try {
+            descend(stackDepth, () -> {
+                throw new TracedNotFoundException();
+            });
+            throw new IllegalStateException("expected a missing order");
+        } catch (TracedNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Resource could not be found in the database");
+        }
+    }
+
+    // Signature check plus the rejection: the path a scanner or an expired session hits
+    @Benchmark
+    public ResponseEntity<Object> unauthorized() {
+        try {
+            descend(stackDepth, () -> tokenValidator.parseToken(tamperedToken));
+            throw new IllegalStateException("expected the token to be rejected");
+        } catch (UnauthorizedException e) {
+            return exceptionHandler.handleUnauthorizedException(null, e);
+        }
+    }
+
+    private static void descend(int depth, Runnable failing) {
+        if (depth == 0) {
+            failing.run();
+        } else {
+            descend(depth - 1, failing);
+        }
+    }
+
+    private static class TracedNotFoundException extends RuntimeException {
+    }
+}
@@ -0,0 +1,47 @@
+package com.revature.benchmarks;
+
+import com.revature.cache.CatalogVersions;
+import com.revature.cache.ProductRatingAggregates;
+import com.revature.services.ProductReviewService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductReviewBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int reviewCount;
+
+    private ProductReviewService productReviewService;
+
+    @Setup
+    public void setUp() {
+        ProductRatingAggregates aggregates = new ProductRatingAggregates();
+        for (int i = 0; i < reviewCount; i++) {
+            aggregates.record(1, 1 + i % 5);
+        }
+
+        productReviewService = new ProductReviewService(null, null, null, aggregates, new CatalogVersions());
+    }
+
+    @Benchmark
+    public int findProductAverageScore() {
+        return productReviewService.findProductAverageScore(1);
+    }
+}
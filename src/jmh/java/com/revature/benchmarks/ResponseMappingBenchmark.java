@@ -0,0 +1,46 @@
+package com.revature.benchmarks;
+
+import com.revature.dtos.OrderResponse;
+import com.revature.dtos.ProductReviewResponse;
+import com.revature.models.Order;
+import com.revature.models.ProductReview;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private Order order;
+    private ProductReview productReview;
+
+    @Setup
+    public void setUp() {
+        order = BenchmarkFixtures.order(1);
+        productReview = BenchmarkFixtures.review(1, 4);
+    }
+
+    @Benchmark
+    public OrderResponse mapOrderResponse() {
+        return new OrderResponse(order);
+    }
+
+    @Benchmark
+    public ProductReviewResponse mapProductReviewResponse() {
+        return new ProductReviewResponse(productReview);
+    }
+}
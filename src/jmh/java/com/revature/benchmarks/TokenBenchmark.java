@@ -0,0 +1,93 @@
+package com.revature.benchmarks;
+
+import com.revature.dtos.Principal;
+import com.revature.models.TokenRevocation;
+import com.revature.repositories.TokenRevocationRepository;
+import com.revature.security.JWTConfig;
+import com.revature.security.TokenGenerator;
+import com.revature.security.TokenRevocationList;
+import com.revature.security.TokenValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenBenchmark {
+
+    private TokenGenerator tokenGenerator;
+    private TokenValidator tokenValidator;
+    private TokenValidator uncachedTokenValidator;
+    private TokenRevocationList revocations;
+    private Principal principal;
+    private String token;
+    private String tokenId;
+
+    @Setup
+    public void setUp() {
+        JWTConfig jwtConfig = BenchmarkFixtures.jwtConfig();
+        tokenGenerator = new TokenGenerator(jwtConfig);
+        tokenValidator = BenchmarkFixtures.tokenValidator(jwtConfig, 10_000);
+        uncachedTokenValidator = BenchmarkFixtures.tokenValidator(jwtConfig, 0);
+        principal = new Principal(BenchmarkFixtures.user(1));
+        token = tokenGenerator.createToken(principal);
+        tokenId = UUID.randomUUID().toString();
+
+        // A large revocation list: 100k revoked tokens and 10k revoked users, none of them ours
+        Date expiresAt = new Date(System.currentTimeMillis() + 60 * 60 * 1000);
+        List<TokenRevocation> revoked = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            revoked.add(new TokenRevocation(UUID.randomUUID().toString(), 1000 + i, new Date(), expiresAt));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            revoked.add(new TokenRevocation(null, 200_000 + i, new Date(), expiresAt));
+        }
+        TokenRevocationRepository repository = BenchmarkFixtures.stub(TokenRevocationRepository.class,
+                (method, args) -> "findAllLive".equals(method) ? revoked : null);
+        revocations = new TokenRevocationList(repository, jwtConfig, null, 100_000, 0.001, new SimpleMeterRegistry());
+        revocations.load();
+    }
+
+    @Benchmark
+    public String createToken() {
+        return tokenGenerator.createToken(principal);
+    }
+
+    // Steady state for a client reusing its token: served from the verified-token cache
+    @Benchmark
+    public Optional<Principal> parseToken() {
+        return tokenValidator.parseToken(token);
+    }
+
+    // The per-request revocation check on its own
+    @Benchmark
+    public boolean revocationCheck() {
+        return revocations.isRevoked(tokenId, principal.getId(), System.currentTimeMillis());
+    }
+
+    // Full signature verification and claims parsing on every call
+    @Benchmark
+    public Optional<Principal> parseTokenUncached() {
+        return uncachedTokenValidator.parseToken(token);
+    }
+}
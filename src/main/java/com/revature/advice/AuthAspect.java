@@ -1,10 +1,13 @@
 package com.revature.advice;
 
-import com.revature.annotations.Authorized;
+import com.revature.dtos.Principal;
 import com.revature.exceptions.NotLoggedInException;
 import com.revature.exceptions.UnauthorizedException;
 import com.revature.models.User;
+import com.revature.security.AuthorizationRegistry;
 import com.revature.services.TokenService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -28,11 +31,23 @@ public class AuthAspect {
     // private final HttpServletRequest req;
 
     private final TokenService tokenService;
+    private final AuthorizationRegistry authorizationRegistry;
+
+    // Rejected requests by reason, exported as auth.failures{reason=...}
+    private final Counter missingToken;
+    private final Counter invalidToken;
+    private final Counter notAdmin;
+    private final Counter inactive;
 
     @Autowired
-    public AuthAspect(TokenService tokenService) {
+    public AuthAspect(TokenService tokenService, AuthorizationRegistry authorizationRegistry, MeterRegistry meterRegistry) {
         // this.req = req;
         this.tokenService = tokenService;
+        this.authorizationRegistry = authorizationRegistry;
+        this.missingToken = meterRegistry.counter("auth.failures", "reason", "missing_token");
+        this.invalidToken = meterRegistry.counter("auth.failures", "reason", "invalid_token");
+        this.notAdmin = meterRegistry.counter("auth.failures", "reason", "not_admin");
+        this.inactive = meterRegistry.counter("auth.failures", "reason", "inactive");
     }
 
     // This advice will execute around any method annotated with @Authorized
@@ -57,16 +72,33 @@ public class AuthAspect {
     // return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorMessage);
     @Around("@annotation(com.revature.annotations.Authorized)")
     public Object authenticate(ProceedingJoinPoint pjp) throws Throwable {
+        // Requirements were read from the annotations at startup
         Method method = ((MethodSignature) pjp.getSignature()).getMethod();
-        Authorized annotation = method.getAnnotation(Authorized.class);
+        AuthorizationRegistry.Requirement requirement = authorizationRegistry.requirementFor(method);
 
         String token = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
                 .getRequest()
                 .getHeader("Authorization");
-        System.out.println(token);
-        if (!tokenService.isTokenValid(token)) throw new UnauthorizedException("No Authorization token found");
-        if (annotation.isAdmin() && !tokenService.extractTokenDetails(token).isAdmin()) throw new UnauthorizedException("Authorized Token is not an Admin, please login with an Admin account to perform this request");
-        if (annotation.isActive() && !tokenService.extractTokenDetails(token).isActive()) throw new UnauthorizedException("Authorized Token is not an active account, please login with an active account to perform this request");
+        if (token == null || token.trim().equals("")) {
+            missingToken.increment();
+            throw new UnauthorizedException("No Authorization token found");
+        }
+        // Resolved once here; the controller's own lookup for this request reuses it
+        Principal principal;
+        try {
+            principal = tokenService.extractTokenDetails(token);
+        } catch (RuntimeException e) {
+            invalidToken.increment();
+            throw e;
+        }
+        if (requirement.isAdmin() && !principal.isAdmin()) {
+            notAdmin.increment();
+            throw new UnauthorizedException("Authorized Token is not an Admin, please login with an Admin account to perform this request");
+        }
+        if (requirement.isActive() && !principal.isActive()) {
+            inactive.increment();
+            throw new UnauthorizedException("Authorized Token is not an active account, please login with an active account to perform this request");
+        }
 //        HttpSession session = req.getSession(false); // Get the session (or create one)
 //
 //        if(session == null) throw new UnauthorizedException("No Session available");
@@ -77,6 +109,6 @@ public class AuthAspect {
 //        }
 //        User user = (User) session.getAttribute("user");
 
-        return pjp.proceed(pjp.getArgs()); // Call the originally intended method
+        return pjp.proceed(); // Call the originally intended method
     }
 }
@@ -0,0 +1,53 @@
+package com.revature.advice;
+
+import com.revature.annotations.CurrentUser;
+import com.revature.dtos.Principal;
+import com.revature.models.User;
+import com.revature.services.TokenService;
+import com.revature.services.UserService;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+// Fills @CurrentUser parameters with the caller of the request. The principal comes from
+// the token already verified by AuthAspect and the user from UserService's short-lived
+// cache, and both are remembered on the request so they are looked up at most once.
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String CURRENT_USER = CurrentUserArgumentResolver.class.getName() + ".CURRENT_USER";
+
+    private final TokenService tokenService;
+    private final UserService userService;
+
+    public CurrentUserArgumentResolver(TokenService tokenService, UserService userService) {
+        this.tokenService = tokenService;
+        this.userService = userService;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && (parameter.getParameterType() == User.class || parameter.getParameterType() == Principal.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Principal principal = tokenService.extractTokenDetails(webRequest.getHeader("Authorization"));
+        if (parameter.getParameterType() == Principal.class) {
+            return principal;
+        }
+
+        User user = (User) webRequest.getAttribute(CURRENT_USER, RequestAttributes.SCOPE_REQUEST);
+        if (user == null || user.getId() != principal.getId()) {
+            user = userService.findUserById(principal.getId());
+            webRequest.setAttribute(CURRENT_USER, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+}
@@ -0,0 +1,77 @@
+package com.revature.advice;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Times every public service method and every @Authorized endpoint.
+// Each call lands in a timer tagged with the class, the method and the exception it ended with
+// ("none" on success), so one meter gives latency, call count and error count together.
+// Percentiles and histogram buckets are configured in application.properties under
+// management.metrics.distribution, and everything is scraped from /actuator/prometheus.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MetricsAspect {
+
+    static final String SERVICE_TIMER = "app.service";
+    static final String ENDPOINT_TIMER = "app.endpoint";
+
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    // Resolving a meter through the registry allocates its id and takes a lock on first use,
+    // so each method keeps its own timers, one per outcome seen so far
+    private final Map<Method, Map<String, Timer>> serviceTimers = new ConcurrentHashMap<>();
+    private final Map<Method, Map<String, Timer>> endpointTimers = new ConcurrentHashMap<>();
+
+    public MetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(com.revature.services..*) && execution(public * *(..))")
+    public Object timeService(ProceedingJoinPoint pjp) throws Throwable {
+        return record(SERVICE_TIMER, serviceTimers, pjp);
+    }
+
+    // Runs outside AuthAspect, so rejected requests are timed and counted too
+    @Around("@annotation(com.revature.annotations.Authorized)")
+    public Object timeEndpoint(ProceedingJoinPoint pjp) throws Throwable {
+        return record(ENDPOINT_TIMER, endpointTimers, pjp);
+    }
+
+    private Object record(String name, Map<Method, Map<String, Timer>> timers, ProceedingJoinPoint pjp) throws Throwable {
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        long start = System.nanoTime();
+        String outcome = NO_EXCEPTION;
+        try {
+            return pjp.proceed();
+        } catch (Throwable t) {
+            outcome = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            timer(name, timers, method, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String name, Map<Method, Map<String, Timer>> timers, Method method, String outcome) {
+        return timers.computeIfAbsent(method, m -> new ConcurrentHashMap<>())
+                .computeIfAbsent(outcome, o -> Timer.builder(name)
+                        .tag("class", method.getDeclaringClass().getSimpleName())
+                        .tag("method", method.getName())
+                        .tag("exception", o)
+                        .register(meterRegistry));
+    }
+}
@@ -0,0 +1,85 @@
+package com.revature.advice;
+
+import com.revature.annotations.RateLimitKey;
+import com.revature.annotations.RateLimited;
+import com.revature.exceptions.TooManyRequestsException;
+import com.revature.security.RateLimiter;
+import com.revature.services.TokenService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Enforces @RateLimited. Runs before AuthAspect so a throttled request is turned away
+// before anything reaches the database. IP-keyed limits are decided without looking at the
+// token; PRINCIPAL and IP_AND_PRINCIPAL limits have to verify it first to find the caller.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RateLimitAspect {
+
+    private final RateLimiter rateLimiter;
+    private final TokenService tokenService;
+    private final MeterRegistry meterRegistry;
+
+    // Rejections per limiter, exported as rate_limit.rejected{limiter=...}
+    private final Map<String, Counter> rejected = new ConcurrentHashMap<>();
+
+    public RateLimitAspect(RateLimiter rateLimiter, TokenService tokenService, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.tokenService = tokenService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@annotation(rateLimited)")
+    public Object throttle(ProceedingJoinPoint pjp, RateLimited rateLimited) throws Throwable {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+
+        long refillInterval = TimeUnit.MINUTES.toNanos(1) / Math.max(1, rateLimited.perMinute());
+        String key = rateLimited.value() + '|' + clientKey(request, rateLimited.key());
+        long wait = rateLimiter.tryAcquire(key, rateLimited.capacity(), refillInterval);
+        if (wait > 0) {
+            rejected.computeIfAbsent(rateLimited.value(), name -> meterRegistry.counter("rate_limit.rejected", "limiter", name)).increment();
+            throw new TooManyRequestsException("Too many requests, please slow down", retryAfterSeconds(wait));
+        }
+
+        return pjp.proceed();
+    }
+
+    // Rounded up: a client that waits the advertised time must find a token in the bucket
+    static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    // Behind a proxy, getRemoteAddr is only the client's address when server.forward-headers-strategy is set
+    private String clientKey(HttpServletRequest request, RateLimitKey keyType) {
+        String ip = request.getRemoteAddr();
+        if (keyType == RateLimitKey.IP) return ip;
+
+        String principal = principalId(request.getHeader("Authorization"));
+        if (principal == null) return ip;
+        return keyType == RateLimitKey.PRINCIPAL ? principal : ip + '|' + principal;
+    }
+
+    // The principal is remembered on the request, so AuthAspect doesn't verify the token again
+    private String principalId(String token) {
+        if (token == null || token.trim().isEmpty()) return null;
+        try {
+            return "user:" + tokenService.extractTokenDetails(token).getId();
+        } catch (RuntimeException e) {
+            // Left for AuthAspect (or the endpoint) to reject; until then the caller is just an IP
+            return null;
+        }
+    }
+}
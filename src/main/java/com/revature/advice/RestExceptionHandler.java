@@ -50,4 +50,28 @@ public class RestExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorMessage);
     }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Object> handleTooManyRequestsException(HttpServletRequest request, TooManyRequestsException tooManyRequestsException) {
+
+        String errorMessage = tooManyRequestsException.getMessage();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", String.valueOf(tooManyRequestsException.getRetryAfterSeconds()))
+                .body(errorMessage);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Object> handleServiceUnavailableException(HttpServletRequest request, ServiceUnavailableException serviceUnavailableException) {
+
+        String errorMessage = serviceUnavailableException.getMessage();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(errorMessage);
+    }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<Object> handleInsufficientStockException(HttpServletRequest request, InsufficientStockException insufficientStockException) {
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(insufficientStockException.getLines());
+    }
 }
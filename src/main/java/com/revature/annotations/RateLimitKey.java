@@ -0,0 +1,9 @@
+package com.revature.annotations;
+
+// What a @RateLimited bucket belongs to. PRINCIPAL falls back to the IP address
+// when the request carries no valid token.
+public enum RateLimitKey {
+    IP,
+    PRINCIPAL,
+    IP_AND_PRINCIPAL
+}
@@ -0,0 +1,19 @@
+package com.revature.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Throttles a handler method per client. Each client gets a bucket of `capacity` requests that
+// refills at `perMinute` requests a minute; once it is empty the request is answered with a 429
+// before the method (or AuthAspect) runs. Buckets are shared by every method with the same name.
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RateLimited {
+
+    String value();
+    int capacity();
+    int perMinute();
+    RateLimitKey key() default RateLimitKey.IP;
+}
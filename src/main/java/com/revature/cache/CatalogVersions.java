@@ -0,0 +1,103 @@
+package com.revature.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Modification counters behind the ETag / Last-Modified headers of the catalog and review endpoints.
+// Answering a conditional GET only needs these in-memory values, never the database. Tags carry the
+// boot time so counters that restart at zero after a redeploy can't match a tag handed out before it.
+// Like ProductCache, this only sees writes made through this instance.
+@Component
+public class CatalogVersions {
+
+    private final long epoch = System.currentTimeMillis();
+    private final Version products = new Version(epoch);
+    private final Version allReviews = new Version(epoch);
+    private final Map<Integer, Version> productReviews = new ConcurrentHashMap<>();
+    // Shared by every product whose reviews haven't changed since startup
+    private final Version unchangedReviews = new Version(epoch);
+
+    public void productsChanged() {
+        products.bump();
+    }
+
+    public void reviewsChanged(int productId) {
+        productReviews.computeIfAbsent(productId, id -> new Version(epoch)).bump();
+        allReviews.bump();
+    }
+
+    // Review listings embed their authors' profiles. Which products a user has reviewed isn't
+    // tracked here, so a profile change moves every review tag.
+    public void reviewAuthorsChanged() {
+        unchangedReviews.bump();
+        productReviews.values().forEach(Version::bump);
+        allReviews.bump();
+    }
+
+    public String productsTag() {
+        return products.tag("products");
+    }
+
+    public long productsModifiedAt() {
+        return products.modifiedAt();
+    }
+
+    public String allReviewsTag() {
+        return allReviews.tag("reviews");
+    }
+
+    public long allReviewsModifiedAt() {
+        return allReviews.modifiedAt();
+    }
+
+    public String reviewsTag(int productId) {
+        return reviews(productId).tag("reviews-" + productId);
+    }
+
+    public long reviewsModifiedAt(int productId) {
+        return reviews(productId).modifiedAt();
+    }
+
+    private Version reviews(int productId) {
+        Version version = productReviews.get(productId);
+        return version == null ? unchangedReviews : version;
+    }
+
+    private static class Version {
+        private final long epoch;
+        private final AtomicLong counter = new AtomicLong();
+        private long modifiedAt;
+        // Whether modifiedAt may have been sent as Last-Modified since the last bump
+        private boolean handedOut;
+
+        private Version(long epoch) {
+            this.epoch = epoch;
+            this.modifiedAt = epoch;
+        }
+
+        // HTTP dates only have whole seconds. Rounding up to the next second keeps a write newer than
+        // any Last-Modified sent before it; a second write within that second must move past the value
+        // already sent as well, or a client that only sends If-Modified-Since would keep getting 304s.
+        private synchronized void bump() {
+            counter.incrementAndGet();
+            long next = (System.currentTimeMillis() / 1000 + 1) * 1000;
+            if (handedOut && next <= modifiedAt) {
+                next = modifiedAt + 1000;
+            }
+            modifiedAt = Math.max(next, modifiedAt);
+            handedOut = false;
+        }
+
+        private synchronized long modifiedAt() {
+            handedOut = true;
+            return modifiedAt;
+        }
+
+        private String tag(String name) {
+            return "\"" + name + "-" + Long.toString(epoch, 36) + "-" + counter.get() + "\"";
+        }
+    }
+}
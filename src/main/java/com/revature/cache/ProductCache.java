@@ -0,0 +1,75 @@
+package com.revature.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.revature.models.Product;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// Bounded, expiring cache of active products, keyed by id, plus a single snapshot of
+// the whole active catalog. Hit/miss/eviction counts are published as the "products"
+// and "products.all" caches under /actuator/metrics/cache.*
+@Component
+public class ProductCache {
+
+    private static final String ALL_ACTIVE = "all";
+
+    // Absent products are cached too (as Optional.empty()) so repeated lookups of a
+    // missing or inactive id don't fall through to the database
+    private final Cache<Integer, Optional<Product>> byId;
+    private final Cache<String, List<Product>> allActive;
+
+    public ProductCache(@Value("${product.cache.max-size:10000}") long maxSize,
+                        @Value("${product.cache.ttl-seconds:300}") long ttlSeconds,
+                        MeterRegistry meterRegistry) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        this.allActive = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "products");
+        CaffeineCacheMetrics.monitor(meterRegistry, allActive, "products.all");
+    }
+
+    // Copies on the way in and out. Callers mutate the product they are handed (isActive)
+    // before saving it, and the loaded entity may still be managed by the loading request's
+    // EntityManager; neither must leak into the cache.
+    public Optional<Product> get(int id, Function<Integer, Optional<Product>> loader) {
+        return byId.get(id, key -> loader.apply(key).map(Product::new)).map(Product::new);
+    }
+
+    // The snapshot is shared between requests, so it is handed out read-only, and it holds
+    // copies so later changes to the loading request's managed entities can't reach it.
+    public List<Product> getAll(Supplier<List<Product>> loader) {
+        return allActive.get(ALL_ACTIVE, key -> Collections.unmodifiableList(
+                loader.get().stream().map(Product::new).collect(Collectors.toList())));
+    }
+
+    public void invalidate(Integer id) {
+        if (id != null) {
+            byId.invalidate(id);
+        }
+        allActive.invalidateAll();
+    }
+
+    public void invalidateAll() {
+        byId.invalidateAll();
+        allActive.invalidateAll();
+    }
+}
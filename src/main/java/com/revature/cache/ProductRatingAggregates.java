@@ -0,0 +1,78 @@
+package com.revature.cache;
+
+import com.revature.dtos.ProductRatingResponse;
+import com.revature.repositories.ProductReviewRepository.RatingCount;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Per-product 1-5 rating histograms, so review counts, averages and distributions are O(1)
+// reads however many reviews a product has. Built from one GROUP BY query at startup and
+// then kept current by ProductReviewService on every save and delete.
+// The histograms live in this instance's memory, so writes made by another instance are
+// only picked up when this one restarts.
+@Component
+public class ProductRatingAggregates {
+
+    public static final int MIN_RATING = 1;
+    public static final int MAX_RATING = 5;
+
+    private final Map<Integer, AtomicLongArray> histograms = new ConcurrentHashMap<>();
+
+    public void rebuild(List<RatingCount> ratingCounts) {
+        histograms.clear();
+        for (RatingCount ratingCount : ratingCounts) {
+            if (isValid(ratingCount.getRating())) {
+                histogram(ratingCount.getProductId()).addAndGet(ratingCount.getRating() - MIN_RATING, ratingCount.getReviews());
+            }
+        }
+    }
+
+    public void record(int productId, int rating) {
+        if (isValid(rating)) {
+            histogram(productId).incrementAndGet(rating - MIN_RATING);
+        }
+    }
+
+    public void remove(int productId, int rating) {
+        AtomicLongArray histogram = histograms.get(productId);
+        if (histogram != null && isValid(rating)) {
+            histogram.updateAndGet(rating - MIN_RATING, count -> Math.max(0, count - 1));
+        }
+    }
+
+    // Truncated to a whole number, matching what /api/productreview/avr/{id} has always returned
+    public int average(int productId) {
+        ProductRatingResponse stats = stats(productId);
+        return stats.getReviewCount() == 0 ? 0 : (int) (stats.getRatingSum() / stats.getReviewCount());
+    }
+
+    public ProductRatingResponse stats(int productId) {
+        long[] counts = new long[MAX_RATING - MIN_RATING + 1];
+        long reviewCount = 0;
+        long ratingSum = 0;
+
+        AtomicLongArray histogram = histograms.get(productId);
+        if (histogram != null) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = histogram.get(i);
+                reviewCount += counts[i];
+                ratingSum += counts[i] * (i + MIN_RATING);
+            }
+        }
+
+        double average = reviewCount == 0 ? 0 : (double) ratingSum / reviewCount;
+        return new ProductRatingResponse(productId, reviewCount, ratingSum, average, counts);
+    }
+
+    private AtomicLongArray histogram(int productId) {
+        return histograms.computeIfAbsent(productId, id -> new AtomicLongArray(MAX_RATING - MIN_RATING + 1));
+    }
+
+    private static boolean isValid(int rating) {
+        return rating >= MIN_RATING && rating <= MAX_RATING;
+    }
+}
@@ -0,0 +1,43 @@
+package com.revature.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.revature.models.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Short-lived cache of users by id for resolving the caller of authenticated requests.
+// Kept deliberately short (seconds) since it only has to absorb bursts from the same user;
+// UserService evicts an entry whenever that user is changed.
+@Component
+public class UserCache {
+
+    private final Cache<Integer, User> byId;
+
+    public UserCache(@Value("${user.cache.max-size:10000}") long maxSize,
+                     @Value("${user.cache.ttl-seconds:30}") long ttlSeconds,
+                     MeterRegistry meterRegistry) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users");
+    }
+
+    // Copies on the way in and out: the loaded entity may still be managed by the loading
+    // request's EntityManager, and the cached instance is shared between requests
+    public User get(int id, Function<Integer, User> loader) {
+        return new User(byId.get(id, key -> new User(loader.apply(key))));
+    }
+
+    public void invalidate(int id) {
+        byId.invalidate(id);
+    }
+}
@@ -0,0 +1,124 @@
+package com.revature.catalog;
+
+import com.revature.dtos.ProductImportRow;
+import com.revature.exceptions.InvalidUserInputException;
+import com.revature.models.Product;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// RFC 4180 style CSV for products, one record per line. Quoted fields may contain commas
+// and doubled quotes but not line breaks, which keeps parsing strictly line-at-a-time.
+public class ProductCsv {
+
+    public static final String HEADER = "id,name,description,image,price,quantity,active";
+
+    private final Map<String, Integer> columns;
+
+    private ProductCsv(Map<String, Integer> columns) {
+        this.columns = columns;
+    }
+
+    public static ProductCsv fromHeader(String headerLine) {
+        List<String> names = split(headerLine);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : new String[]{"name", "price", "quantity"}) {
+            if (!columns.containsKey(required)) {
+                throw new InvalidUserInputException("CSV header is missing the " + required + " column");
+            }
+        }
+        return new ProductCsv(columns);
+    }
+
+    public ProductImportRow parse(String line) {
+        List<String> fields = split(line);
+        ProductImportRow row = new ProductImportRow();
+        row.setId(parseInteger(field(fields, "id"), "id"));
+        row.setName(field(fields, "name"));
+        row.setDescription(field(fields, "description"));
+        row.setImage(field(fields, "image"));
+        row.setPrice(parseDouble(field(fields, "price"), "price"));
+        row.setQuantity(parseInteger(field(fields, "quantity"), "quantity"));
+        String active = field(fields, "active");
+        row.setActive(active == null ? null : Boolean.valueOf(active.trim()));
+        return row;
+    }
+
+    public static String format(Product product) {
+        return product.getId() + "," + escape(product.getName()) + "," + escape(product.getDescription()) + ","
+                + escape(product.getImage()) + "," + product.getPrice() + "," + product.getQuantity() + ","
+                + product.isActive();
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new InvalidUserInputException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        // Line breaks would split the record, so they are flattened to spaces on export
+        return '"' + value.replace("\r", " ").replace("\n", " ").replace("\"", "\"\"") + '"';
+    }
+
+    private String field(List<String> fields, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static Integer parseInteger(String value, String column) {
+        try {
+            return value == null ? null : Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidUserInputException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static Double parseDouble(String value, String column) {
+        try {
+            return value == null ? null : Double.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidUserInputException("Invalid " + column + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.revature.catalog;
+
+import com.revature.exceptions.InvalidUserInputException;
+
+// Line-oriented formats accepted by product import and produced by product export
+public enum ProductFileFormat {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    private final String mediaType;
+    private final String extension;
+
+    ProductFileFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ProductFileFormat of(String name) {
+        for (ProductFileFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new InvalidUserInputException("Unsupported format: " + name);
+    }
+}
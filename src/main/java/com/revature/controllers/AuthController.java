@@ -1,6 +1,8 @@
 package com.revature.controllers;
 
 import com.revature.annotations.Authorized;
+import com.revature.annotations.CurrentUser;
+import com.revature.annotations.RateLimited;
 import com.revature.dtos.*;
 import com.revature.exceptions.UnauthorizedException;
 import com.revature.models.User;
@@ -11,14 +13,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/auth")
-@CrossOrigin(origins = {"http://localhost:4200", "http://localhost:3000", "http://e-commerce-congo-react-lb-919946656.us-east-1.elb.amazonaws.com"},  allowCredentials = "true", exposedHeaders = "Authorization")
+@CrossOrigin(origins = {"http://localhost:4200", "http://localhost:3000", "http://e-commerce-congo-react-lb-919946656.us-east-1.elb.amazonaws.com"},  allowCredentials = "true", exposedHeaders = {"Authorization", "Refresh-Token"})
 public class AuthController {
 
     private final AuthService authService;
@@ -29,18 +30,18 @@ public class AuthController {
 
     @Authorized
     @GetMapping
-    public ResponseEntity<UserResponse> getCurrentUser(HttpServletRequest req) {
-        String token = req.getHeader("Authorization");
-        User currentUser = authService.getUserByAuthToken(token);
+    public ResponseEntity<UserResponse> getCurrentUser(@CurrentUser User currentUser) {
         return ResponseEntity.ok(new UserResponse(currentUser));
     }
 
+    @RateLimited(value = "reset-password", capacity = 10, perMinute = 10)
     @GetMapping("/reset-password/{token}")
     public ResponseEntity<Void> verifyResetPasswordToken(@PathVariable String token) {
         authService.verifyResetPasswordToken(token);
         return ResponseEntity.ok().build();
     }
 
+    @RateLimited(value = "login", capacity = 10, perMinute = 10)
     @PostMapping("/login")
     public ResponseEntity<UserResponse> login(@RequestBody LoginRequest loginRequest, HttpServletResponse resp) {
         User authUser = authService.findByCredentials(loginRequest.getEmail(), loginRequest.getPassword()).orElseThrow(UnauthorizedException::new);
@@ -48,17 +49,20 @@ public class AuthController {
 
         String token = authService.generateAuthToken(authUser);
         resp.setHeader("Authorization", token);
+        resp.setHeader("Refresh-Token", authService.generateRefreshToken(authUser));
 
         return ResponseEntity.ok(new UserResponse(authUser));
     }
 
 
+    @RateLimited(value = "forgot-password", capacity = 3, perMinute = 3)
     @PutMapping("/forgot-password")
     public ResponseEntity<Void> forgotPassword(@RequestBody UpdateUserRequest updateUserRequest){
         authService.forgotPassword(updateUserRequest);
         return ResponseEntity.ok().build();
     }
 
+    @RateLimited(value = "reset-password", capacity = 10, perMinute = 10)
     @PutMapping("/reset-password/{token}")
     public ResponseEntity<Void> resetPassword(@PathVariable String token, @RequestBody UpdateUserRequest updateUserRequest) {
         authService.resetPassword(token,updateUserRequest.getPassword());
@@ -66,9 +70,20 @@ public class AuthController {
     }
 
 
+    @RateLimited(value = "refresh", capacity = 20, perMinute = 20)
+    @PostMapping("/refresh")
+    public ResponseEntity<Void> refresh(@RequestHeader("Refresh-Token") String refreshToken, HttpServletResponse resp) {
+        TokenPair tokens = authService.refresh(refreshToken);
+        resp.setHeader("Authorization", tokens.getAccessToken());
+        resp.setHeader("Refresh-Token", tokens.getRefreshToken());
+        return ResponseEntity.ok().build();
+    }
+
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout(HttpServletResponse resp) {
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Refresh-Token", required = false) String refreshToken, HttpServletResponse resp) {
+        authService.logout(refreshToken);
         resp.setHeader("Authorization","");
+        resp.setHeader("Refresh-Token","");
         return ResponseEntity.ok().build();
     }
 
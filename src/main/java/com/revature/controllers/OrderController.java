@@ -1,18 +1,25 @@
 package com.revature.controllers;
 import com.revature.annotations.Authorized;
+import com.revature.annotations.CurrentUser;
+import com.revature.dtos.CheckoutRequest;
+import com.revature.dtos.CheckoutResponse;
 import com.revature.dtos.CreateOrderRequest;
+import com.revature.dtos.OrderHistoryPageResponse;
 import com.revature.dtos.OrderResponse;
 import com.revature.models.Order;
 import com.revature.models.User;
-import com.revature.services.AuthService;
+import com.revature.services.CheckoutService;
 import com.revature.services.OrderService;
+import com.revature.services.StreamingService;
 import com.revature.services.TokenService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 import javax.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,11 +28,13 @@ import java.util.Optional;
 @CrossOrigin(origins = {"http://localhost:4200", "http://localhost:3000", "http://e-commerce-congo-react-lb-919946656.us-east-1.elb.amazonaws.com"},  allowCredentials = "true", exposedHeaders = "Authorization")
 public class OrderController {
     private final OrderService orderService;
-    private final AuthService authService;
+    private final CheckoutService checkoutService;
+    private final StreamingService streamingService;
 
-    public OrderController(OrderService orderService, AuthService authService) {
+    public OrderController(OrderService orderService, CheckoutService checkoutService, StreamingService streamingService) {
         this.orderService = orderService;
-        this.authService = authService;
+        this.checkoutService = checkoutService;
+        this.streamingService = streamingService;
     }
 
     @Authorized
@@ -34,13 +43,28 @@ public class OrderController {
         return ResponseEntity.ok(orderService.findAll());
     }
 
+    @Authorized
+    @GetMapping(params = "stream")
+    public ResponseEntity<StreamingResponseBody> streamAllOrders(@RequestParam String stream) {
+        return streamingService.stream(stream, orderService::streamAll);
+    }
+
     @Authorized
     @GetMapping("/history")
-    public ResponseEntity<List<OrderResponse>> getOrderHistory(HttpServletRequest req) {
-        String token = req.getHeader("Authorization");
-        User user = authService.getUserByAuthToken(token);
+    public ResponseEntity<List<OrderResponse>> getOrderHistory(@CurrentUser User user,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(orderService.findAllUserOrders(user, from, to));
+    }
 
-        return ResponseEntity.ok(orderService.findAllUserOrders(user));
+    @Authorized
+    @GetMapping(value = "/history", params = "page")
+    public ResponseEntity<OrderHistoryPageResponse> getOrderHistoryPage(@CurrentUser User user,
+                                                                        @RequestParam int page,
+                                                                        @RequestParam(defaultValue = "20") int size,
+                                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(orderService.findUserOrderPage(user, from, to, page, size));
     }
 
     @Authorized
@@ -54,12 +78,15 @@ public class OrderController {
     }
     @Authorized
     @PostMapping
-    public ResponseEntity<OrderResponse> createAnOrder(@RequestBody @Valid CreateOrderRequest createOrderRequest, HttpServletRequest req) {
-        String token = req.getHeader("Authorization");
-        User user = authService.getUserByAuthToken(token);
-
+    public ResponseEntity<OrderResponse> createAnOrder(@RequestBody @Valid CreateOrderRequest createOrderRequest, @CurrentUser User user) {
         return ResponseEntity.ok(orderService.createOrder(createOrderRequest, user));
     }
+
+    @Authorized
+    @PostMapping("/checkout")
+    public ResponseEntity<CheckoutResponse> checkout(@RequestBody @Valid CheckoutRequest checkoutRequest, @CurrentUser User user) {
+        return ResponseEntity.ok(checkoutService.checkout(checkoutRequest, user));
+    }
 //    @Authorized
 //    @PutMapping
 //    public ResponseEntity<String> update(@RequestBody EditOrderRequest editOrderRequest, HttpSession session) {
@@ -1,18 +1,19 @@
 package com.revature.controllers;
 
 import com.revature.annotations.Authorized;
+import com.revature.annotations.CurrentUser;
 import com.revature.dtos.OrderDetailRequest;
 import com.revature.dtos.OrderDetailResponse;
-import com.revature.models.Order;
+import com.revature.dtos.OrderSummaryResponse;
 import com.revature.models.OrderDetail;
 import com.revature.models.User;
-import com.revature.services.AuthService;
 import com.revature.services.OrderDetailService;
+import com.revature.services.StreamingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 import java.util.List;
 import java.util.Optional;
@@ -23,20 +24,23 @@ import java.util.Optional;
 public class OrderDetailController {
 
     private final OrderDetailService orderDetailService;
-    private final AuthService authService;
+    private final StreamingService streamingService;
 
     @Autowired
-    public OrderDetailController(OrderDetailService orderDetailService, AuthService authService) {
+    public OrderDetailController(OrderDetailService orderDetailService, StreamingService streamingService) {
         this.orderDetailService = orderDetailService;
-        this.authService = authService;
+        this.streamingService = streamingService;
+    }
+
+    @Authorized(isAdmin = true)
+    @GetMapping(params = "stream")
+    public ResponseEntity<StreamingResponseBody> streamAll(@RequestParam String stream) {
+        return streamingService.stream(stream, orderDetailService::streamAll);
     }
 
     @Authorized
     @GetMapping("/{id}")
-    public ResponseEntity<OrderDetail> findById(@PathVariable("id") int id, HttpServletRequest req){
-        String token = req.getHeader("Authorization");
-        User user = authService.getUserByAuthToken(token);
-
+    public ResponseEntity<OrderDetail> findById(@PathVariable("id") int id, @CurrentUser User user){
         Optional<OrderDetail> optional = orderDetailService.findById(id);
         if(!optional.isPresent() || (optional.get().getOrderId().getUserId().getId() != user.getId())){
             return ResponseEntity.notFound().build();
@@ -46,21 +50,20 @@ public class OrderDetailController {
 
     @Authorized
     @GetMapping("/order/{id}")
-    public ResponseEntity<List<OrderDetailResponse>> findAllByOrderId(@PathVariable("id") int id, HttpServletRequest req) {
-        String token = req.getHeader("Authorization");
-        User user = authService.getUserByAuthToken(token);
-
-        List<OrderDetailResponse> orderDetailResponses = orderDetailService.findAllOrderDetailsByOrder(id);
+    public ResponseEntity<List<OrderDetailResponse>> findAllByOrderId(@PathVariable("id") int id, @CurrentUser User user) {
+        List<OrderDetailResponse> orderDetailResponses = orderDetailService.findUserOrderDetails(id, user);
         if (orderDetailResponses.size() == 0) {
             return ResponseEntity.notFound().build();
         }
-        Order order = orderDetailService.findById( orderDetailResponses.get(0).getId()).get().getOrderId();
-        if (user.getId() != order.getUserId().getId()) {
-            return ResponseEntity.notFound().build();
-        }
         return ResponseEntity.ok(orderDetailResponses);
     }
 
+    @Authorized
+    @GetMapping("/order/{id}/summary")
+    public ResponseEntity<OrderSummaryResponse> findOrderSummary(@PathVariable("id") int id, @CurrentUser User user) {
+        return ResponseEntity.ok(orderDetailService.findOrderSummary(id, user));
+    }
+
     @Authorized
     @PostMapping
     public ResponseEntity<OrderDetailResponse> createOrderDetail(@RequestBody OrderDetailRequest orderDetailRequest){
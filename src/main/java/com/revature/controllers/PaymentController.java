@@ -1,6 +1,7 @@
 package com.revature.controllers;
 
 import com.revature.annotations.Authorized;
+import com.revature.annotations.CurrentUser;
 import com.revature.dtos.CreatePaymentRequest;
 import com.revature.dtos.EditPaymentRequest;
 import com.revature.dtos.PaymentResponse;
@@ -8,13 +9,11 @@ import com.revature.dtos.UserResponse;
 import com.revature.exceptions.UnauthorizedException;
 import com.revature.models.Payment;
 import com.revature.models.User;
-import com.revature.services.AuthService;
 import com.revature.services.PaymentService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 import javax.validation.Valid;
 import java.util.List;
@@ -25,38 +24,27 @@ import java.util.List;
 public class PaymentController {
 
     private final PaymentService paymentService;
-    private final AuthService authService;
 
-    public PaymentController(PaymentService paymentService, AuthService authService) {
+    public PaymentController(PaymentService paymentService) {
         this.paymentService = paymentService;
-        this.authService = authService;
     }
 
     @Authorized
     @PostMapping
-    public ResponseEntity<PaymentResponse> createPayment(@RequestBody @Valid CreatePaymentRequest createPaymentRequest, HttpServletRequest req) {
-        String token = req.getHeader("Authorization");
-        User authUser = authService.getUserByAuthToken(token);
-
+    public ResponseEntity<PaymentResponse> createPayment(@RequestBody @Valid CreatePaymentRequest createPaymentRequest, @CurrentUser User authUser) {
         PaymentResponse newPayment = paymentService.createPayment(createPaymentRequest, authUser);
         return ResponseEntity.ok(newPayment);
     }
 
     @Authorized
     @PutMapping
-    public ResponseEntity<PaymentResponse> updatedPayment(@RequestBody EditPaymentRequest editPaymentRequest, HttpServletRequest req) {
-        String token = req.getHeader("Authorization");
-        User user = authService.getUserByAuthToken(token);
-
+    public ResponseEntity<PaymentResponse> updatedPayment(@RequestBody EditPaymentRequest editPaymentRequest, @CurrentUser User user) {
         return ResponseEntity.ok(paymentService.updatePayment(editPaymentRequest, user));
     }
 
     @Authorized
     @DeleteMapping
-    public ResponseEntity<String> deletePayment(@RequestParam("paymentId") String paymentId, HttpServletRequest req) {
-        String token = req.getHeader("Authorization");
-        User user = authService.getUserByAuthToken(token);
-
+    public ResponseEntity<String> deletePayment(@RequestParam("paymentId") String paymentId, @CurrentUser User user) {
         try {
             if (paymentService.deletePayment(paymentId, user) != null) {
                 return ResponseEntity.ok(String.format("Payment %s was deleted", paymentId));
@@ -69,10 +57,7 @@ public class PaymentController {
 
     @Authorized
     @GetMapping
-    public List<PaymentResponse> findAllUserPayment(HttpServletRequest req){
-        String token = req.getHeader("Authorization");
-        User user = authService.getUserByAuthToken(token);
-
+    public List<PaymentResponse> findAllUserPayment(@CurrentUser User user){
         List<PaymentResponse> newPaymentResponse = paymentService.findAllByUser(user.getId());
         return newPaymentResponse;
     }
@@ -1,30 +1,67 @@
 package com.revature.controllers;
 
 import com.revature.annotations.Authorized;
+import com.revature.annotations.CurrentUser;
+import com.revature.annotations.RateLimitKey;
+import com.revature.annotations.RateLimited;
+import com.revature.catalog.ProductFileFormat;
+import com.revature.dtos.Principal;
+import com.revature.dtos.ProductImportResponse;
 import com.revature.dtos.ProductInfo;
+import com.revature.dtos.ProductPageResponse;
 import com.revature.models.Product;
+import com.revature.services.ProductImportService;
 import com.revature.services.ProductService;
+import com.revature.services.StreamingService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/product")
-@CrossOrigin(origins = {"http://localhost:4200", "http://localhost:3000", "http://e-commerce-congo-react-lb-919946656.us-east-1.elb.amazonaws.com"},  allowCredentials = "true", exposedHeaders = "Authorization")
+@CrossOrigin(origins = {"http://localhost:4200", "http://localhost:3000", "http://e-commerce-congo-react-lb-919946656.us-east-1.elb.amazonaws.com"},  allowCredentials = "true", exposedHeaders = {"Authorization", "ETag"})
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final StreamingService streamingService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductImportService productImportService, StreamingService streamingService) {
         this.productService = productService;
+        this.productImportService = productImportService;
+        this.streamingService = streamingService;
     }
 
+    // Conditional GET: a matching If-None-Match / If-Modified-Since gets a 304 before the catalog is read
     @GetMapping
-    public ResponseEntity<List<Product>> getInventory() {
-        return ResponseEntity.ok(productService.findAll());
+    public ResponseEntity<List<Product>> getInventory(WebRequest request) {
+        String eTag = productService.catalogTag();
+        if (request.checkNotModified(eTag, productService.catalogModifiedAt())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(productService.findAll());
+    }
+
+    // ?stream=json or ?stream=ndjson writes the catalog row by row instead of building the whole list first.
+    // Streams are never paged; with both parameters the request goes to the page endpoint
+    @GetMapping(params = {"stream", "!limit"})
+    public ResponseEntity<StreamingResponseBody> streamInventory(@RequestParam String stream) {
+        return streamingService.stream(stream, productService::streamAll);
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<ProductPageResponse> getInventoryPage(@RequestParam(required = false) Integer after,
+                                                                @RequestParam int limit,
+                                                                @RequestParam(defaultValue = "id") String sort) {
+        return ResponseEntity.ok(productService.findPage(after, limit, sort));
     }
 
 
@@ -39,9 +76,11 @@ public class ProductController {
     }
 
 
+    @RateLimited(value = "product-search", capacity = 30, perMinute = 120, key = RateLimitKey.IP_AND_PRINCIPAL)
     @GetMapping("/search/{keyword}")
-    public ResponseEntity<List<Product>> getProductByKeyword(@PathVariable String keyword){
-        return ResponseEntity.ok(productService.findByKeyword(keyword));
+    public ResponseEntity<List<Product>> getProductByKeyword(@PathVariable String keyword,
+                                                             @RequestParam(defaultValue = "" + ProductService.DEFAULT_SEARCH_LIMIT) int limit){
+        return ResponseEntity.ok(productService.search(keyword, limit));
     }
 
 
@@ -56,29 +95,31 @@ public class ProductController {
 
     @Authorized
     @PatchMapping
-    public ResponseEntity<List<Product>> purchase(@RequestBody List<ProductInfo> metadata) { 	
-    	List<Product> productList = new ArrayList<Product>();
-    	
-    	for (int i = 0; i < metadata.size(); i++) {
-    		Optional<Product> optional = productService.findById(metadata.get(i).getId());
-
-    		if(!optional.isPresent()) {
-    			return ResponseEntity.notFound().build();
-    		}
-
-    		Product product = optional.get();
-
-    		if(product.getQuantity() - metadata.get(i).getQuantity() < 0) {
-    			return ResponseEntity.badRequest().build();
-    		}
-    		
-    		product.setQuantity(product.getQuantity() - metadata.get(i).getQuantity());
-    		productList.add(product);
-    	}
-        
-        productService.saveAll(productList, metadata);
-
-        return ResponseEntity.ok(productList);
+    public ResponseEntity<List<Product>> purchase(@RequestBody List<ProductInfo> metadata, @CurrentUser Principal principal) {
+        return ResponseEntity.ok(productService.purchase(metadata, principal.getId()));
+    }
+
+    @Authorized(isAdmin = true)
+    @PostMapping(value = "/import", consumes = ProductFileFormat.CSV_MEDIA_TYPE)
+    public ResponseEntity<ProductImportResponse> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(productImportService.importProducts(body, ProductFileFormat.CSV));
+    }
+
+    @Authorized(isAdmin = true)
+    @PostMapping(value = "/import", consumes = ProductFileFormat.NDJSON_MEDIA_TYPE)
+    public ResponseEntity<ProductImportResponse> importNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(productImportService.importProducts(body, ProductFileFormat.NDJSON));
+    }
+
+    @Authorized(isAdmin = true)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "csv") String format) {
+        ProductFileFormat fileFormat = ProductFileFormat.of(format);
+        StreamingResponseBody body = out -> productImportService.exportProducts(out, fileFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(fileFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products." + fileFormat.getExtension() + "\"")
+                .body(body);
     }
 
     @Authorized
@@ -1,41 +1,73 @@
 package com.revature.controllers;
 
 import com.revature.annotations.Authorized;
+import com.revature.annotations.CurrentUser;
 import com.revature.models.User;
+import com.revature.dtos.ProductRatingResponse;
+import com.revature.dtos.ProductReviewPageResponse;
 import com.revature.dtos.ProductReviewRequest;
 import com.revature.dtos.ProductReviewResponse;
-import com.revature.services.AuthService;
 import com.revature.services.ProductReviewService;
+import com.revature.services.StreamingService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/productreview")
-@CrossOrigin(origins = {"http://localhost:4200", "http://localhost:3000", "http://e-commerce-congo-react-lb-919946656.us-east-1.elb.amazonaws.com"},  allowCredentials = "true", exposedHeaders = "Authorization")
+@CrossOrigin(origins = {"http://localhost:4200", "http://localhost:3000", "http://e-commerce-congo-react-lb-919946656.us-east-1.elb.amazonaws.com"},  allowCredentials = "true", exposedHeaders = {"Authorization", "ETag"})
 public class ProductReviewController {
 
     private final ProductReviewService productReviewService;
-    private final AuthService authService;
+    private final StreamingService streamingService;
 
 
-    public ProductReviewController(ProductReviewService productReviewService, AuthService authService) {
+    public ProductReviewController(ProductReviewService productReviewService, StreamingService streamingService) {
         this.productReviewService = productReviewService;
-        this.authService = authService;
+        this.streamingService = streamingService;
     }
 
     @GetMapping
-    public ResponseEntity<List<ProductReviewResponse>> getReviews() {
-        return ResponseEntity.ok(productReviewService.findAll());
+    public ResponseEntity<List<ProductReviewResponse>> getReviews(WebRequest request) {
+        String eTag = productReviewService.reviewsTag();
+        if (request.checkNotModified(eTag, productReviewService.reviewsModifiedAt())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(productReviewService.findAll());
+    }
+
+    @GetMapping(params = {"stream", "!page"})
+    public ResponseEntity<StreamingResponseBody> streamReviews(@RequestParam String stream) {
+        return streamingService.stream(stream, productReviewService::streamAll);
+    }
+
+    @GetMapping(params = "page")
+    public ResponseEntity<ProductReviewPageResponse> getReviewsPage(@RequestParam int page,
+                                                                    @RequestParam(defaultValue = "20") int size,
+                                                                    @RequestParam(defaultValue = "newest") String sort) {
+        return ResponseEntity.ok(productReviewService.findPage(page, size, sort));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<List<ProductReviewResponse>> getReviewsByProductId(@PathVariable("id") int id) {
-        return ResponseEntity.ok(productReviewService.findByProductId(id));
+    public ResponseEntity<List<ProductReviewResponse>> getReviewsByProductId(@PathVariable("id") int id, WebRequest request) {
+        String eTag = productReviewService.reviewsTag(id);
+        if (request.checkNotModified(eTag, productReviewService.reviewsModifiedAt(id))) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(productReviewService.findByProductId(id));
+
+    }
 
+    @GetMapping(value = "/{id}", params = "page")
+    public ResponseEntity<ProductReviewPageResponse> getReviewsPageByProductId(@PathVariable("id") int id,
+                                                                               @RequestParam int page,
+                                                                               @RequestParam(defaultValue = "20") int size,
+                                                                               @RequestParam(defaultValue = "newest") String sort) {
+        return ResponseEntity.ok(productReviewService.findPageByProductId(id, page, size, sort));
     }
 
     @GetMapping("/avr/{id}")
@@ -44,6 +76,11 @@ public class ProductReviewController {
 
     }
 
+    @GetMapping("/stats/{id}")
+    public ResponseEntity<ProductRatingResponse> getProductRatingStats(@PathVariable("id") int id) {
+        return ResponseEntity.ok(productReviewService.findProductRatingStats(id));
+    }
+
     @GetMapping("/rate/{id}/{rating}")
     public ResponseEntity<List<ProductReviewResponse>> getProductByScore(@PathVariable("id") int id,@PathVariable("rating") int rating) {
         return ResponseEntity.ok(productReviewService.findProductByScore(id,rating));
@@ -59,14 +96,7 @@ public class ProductReviewController {
 
     @Authorized
     @PutMapping
-    public ResponseEntity<ProductReviewResponse> upsert(@RequestBody ProductReviewRequest productReview, HttpServletRequest req) {
-//        if(session.getAttribute("user") == null) {
-//            return ResponseEntity.notFound().build();
-//        }
-//        User user = (User)session.getAttribute("user");
-        String token = req.getHeader("Authorization");
-        User user = authService.getUserByAuthToken(token);
-
+    public ResponseEntity<ProductReviewResponse> upsert(@RequestBody ProductReviewRequest productReview, @CurrentUser User user) {
         return ResponseEntity.ok(new ProductReviewResponse(productReviewService.save(productReview, user)));
     }
 
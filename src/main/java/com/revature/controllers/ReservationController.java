@@ -0,0 +1,53 @@
+package com.revature.controllers;
+
+import com.revature.annotations.Authorized;
+import com.revature.annotations.CurrentUser;
+import com.revature.annotations.RateLimitKey;
+import com.revature.annotations.RateLimited;
+import com.revature.dtos.AvailabilityResponse;
+import com.revature.dtos.Principal;
+import com.revature.dtos.ProductInfo;
+import com.revature.dtos.ReservationResponse;
+import com.revature.services.ReservationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/product/reservations")
+@CrossOrigin(origins = {"http://localhost:4200", "http://localhost:3000", "http://e-commerce-congo-react-lb-919946656.us-east-1.elb.amazonaws.com"},  allowCredentials = "true", exposedHeaders = {"Authorization", "ETag"})
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    public ReservationController(ReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    @Authorized
+    @GetMapping
+    public ResponseEntity<List<ReservationResponse>> getReservations(@CurrentUser Principal principal) {
+        return ResponseEntity.ok(reservationService.findAllByUser(principal.getId()));
+    }
+
+    @Authorized
+    @RateLimited(value = "reservations", capacity = 30, perMinute = 120, key = RateLimitKey.PRINCIPAL)
+    @PutMapping
+    public ResponseEntity<ReservationResponse> reserve(@RequestBody ProductInfo line, @CurrentUser Principal principal) {
+        return ResponseEntity.ok(reservationService.reserve(principal.getId(), line));
+    }
+
+    @Authorized
+    @DeleteMapping("/{productId}")
+    public ResponseEntity<Void> release(@PathVariable("productId") int productId, @CurrentUser Principal principal) {
+        reservationService.release(principal.getId(), productId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @RateLimited(value = "availability", capacity = 30, perMinute = 120)
+    @GetMapping("/availability")
+    public ResponseEntity<List<AvailabilityResponse>> getAvailability(@RequestParam List<Integer> ids) {
+        return ResponseEntity.ok(reservationService.findAvailability(ids));
+    }
+}
@@ -0,0 +1,21 @@
+package com.revature.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutRequest {
+    @NotBlank
+    private String paymentId;
+    @NotBlank
+    private String shipmentAddress;
+    @NotEmpty
+    private List<ProductInfo> lines;
+}
@@ -0,0 +1,15 @@
+package com.revature.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutResponse {
+    private OrderResponse order;
+    private List<OrderDetailResponse> lines;
+}
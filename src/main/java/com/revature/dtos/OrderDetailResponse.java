@@ -19,6 +19,11 @@ public class OrderDetailResponse {
     @Min(value = 0)
     private float quantity;
 
+    // Used by the JPQL constructor expression in OrderDetailRepository, where quantity arrives as an int
+    public OrderDetailResponse(int id, int ordersId, int productId, int quantity) {
+        this(id, ordersId, productId, (float) quantity);
+    }
+
     public OrderDetailResponse(OrderDetail orderDetail) {
         this.id = orderDetail.getId();
         this.ordersId = orderDetail.getOrderId().getId();
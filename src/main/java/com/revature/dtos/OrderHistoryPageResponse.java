@@ -0,0 +1,18 @@
+package com.revature.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderHistoryPageResponse {
+
+    private List<OrderResponse> orders;
+    private int page;
+    private int size;
+    private boolean hasMore;
+}
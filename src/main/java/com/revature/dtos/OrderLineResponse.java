@@ -0,0 +1,33 @@
+package com.revature.dtos;
+
+import com.revature.models.OrderDetail;
+import com.revature.models.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLineResponse {
+    private int id;
+    private int productId;
+    private String name;
+    private String image;
+    private BigDecimal unitPrice;
+    private int quantity;
+    private BigDecimal lineTotal;
+
+    public OrderLineResponse(OrderDetail orderDetail) {
+        Product product = orderDetail.getProductId();
+        this.id = orderDetail.getId();
+        this.productId = product.getId();
+        this.name = product.getName();
+        this.image = product.getImage();
+        this.unitPrice = BigDecimal.valueOf(product.getPrice());
+        this.quantity = orderDetail.getQuantity();
+        this.lineTotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
+    }
+}
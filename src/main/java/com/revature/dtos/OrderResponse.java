@@ -1,6 +1,7 @@
 package com.revature.dtos;
 
 import com.revature.models.Order;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -8,6 +9,7 @@ import java.sql.Date;
 
 @Data
 @NoArgsConstructor
+@AllArgsConstructor
 public class OrderResponse {
     private int orderId;
     private String userEmail;
@@ -15,6 +17,11 @@ public class OrderResponse {
     private Date orderDate;
     private String shipmentAddress;
 
+    // Used by the JPQL constructor expressions in OrderRepository, where Hibernate types o.orderDate as java.util.Date
+    public OrderResponse(int orderId, String userEmail, String paymentId, java.util.Date orderDate, String shipmentAddress) {
+        this(orderId, userEmail, paymentId, orderDate == null ? null : new Date(orderDate.getTime()), shipmentAddress);
+    }
+
     public OrderResponse(Order order) {
         this.orderId = order.getId();
         this.userEmail = order.getUserId().getEmail();
@@ -0,0 +1,18 @@
+package com.revature.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryResponse {
+    private OrderResponse order;
+    private List<OrderLineResponse> lines;
+    private int itemCount;
+    private BigDecimal total;
+}
@@ -0,0 +1,27 @@
+package com.revature.dtos;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ProductImportResponse {
+
+    // Only the first errors are listed; rejected still counts all of them
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private int created;
+    private int updated;
+    private int rejected;
+    private List<ProductImportError> errors = new ArrayList<>();
+
+    public void reject(long line, String message) {
+        rejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ProductImportError(line, message));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.revature.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One parsed import line. Boxed fields so a missing value can be told apart from zero.
+// A row with an id updates that product; a row without one creates a new product.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportRow {
+    private Integer id;
+    private String name;
+    private String description;
+    private String image;
+    private Double price;
+    private Integer quantity;
+    private Boolean active;
+}
@@ -0,0 +1,21 @@
+package com.revature.dtos;
+
+import com.revature.models.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPageResponse {
+
+    private List<Product> products;
+    private String sort;
+    private int limit;
+    private boolean hasMore;
+    // Id of the last product on this page, pass it back as ?after= to get the next page
+    private Integer nextCursor;
+}
@@ -0,0 +1,18 @@
+package com.revature.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRatingResponse {
+
+    private int productId;
+    private long reviewCount;
+    private long ratingSum;
+    private double average;
+    // histogram[0] is the number of 1-star reviews, histogram[4] the number of 5-star reviews
+    private long[] histogram;
+}
@@ -0,0 +1,19 @@
+package com.revature.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductReviewPageResponse {
+
+    private List<ProductReviewResponse> reviews;
+    private String sort;
+    private int page;
+    private int size;
+    private boolean hasMore;
+}
@@ -0,0 +1,15 @@
+package com.revature.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurchaseLineResult {
+
+    private int productId;
+    private int quantity;
+    private boolean success;
+}
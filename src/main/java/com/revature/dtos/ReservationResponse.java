@@ -0,0 +1,19 @@
+package com.revature.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResponse {
+
+    private int productId;
+    private int quantity;
+    private Date expiresAt;
+    // Units of the product nobody holds, after this reservation
+    private int available;
+}
@@ -0,0 +1,26 @@
+package com.revature.exceptions;
+
+// Base class for the exceptions RestExceptionHandler turns into 4xx responses. Those responses only
+// use the message, so by default no stack trace is captured: filling one in walks the whole (deep,
+// proxied) call stack and is most of what an exception costs, which adds up when bots hammer the
+// 401/404 paths. Start the JVM with -Ddomain.exceptions.stack-traces=true to get them back while debugging.
+public abstract class DomainException extends RuntimeException {
+
+    static final boolean STACK_TRACES = Boolean.getBoolean("domain.exceptions.stack-traces");
+
+    protected DomainException() {
+        this(null, null);
+    }
+
+    protected DomainException(String message) {
+        this(message, null);
+    }
+
+    protected DomainException(String message, Throwable cause) {
+        super(message, cause, STACK_TRACES, STACK_TRACES);
+    }
+
+    protected DomainException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
@@ -0,0 +1,21 @@
+package com.revature.exceptions;
+
+import com.revature.dtos.PurchaseLineResult;
+
+import java.util.List;
+
+// Thrown when at least one line of a purchase could not be fulfilled.
+// Carries the outcome of every line so the client can tell which ones failed.
+public class InsufficientStockException extends DomainException {
+
+    private final List<PurchaseLineResult> lines;
+
+    public InsufficientStockException(List<PurchaseLineResult> lines) {
+        super("Not enough stock to fulfill the purchase");
+        this.lines = lines;
+    }
+
+    public List<PurchaseLineResult> getLines() {
+        return lines;
+    }
+}
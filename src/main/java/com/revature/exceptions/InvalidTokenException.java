@@ -1,6 +1,6 @@
 package com.revature.exceptions;
 
-public class InvalidTokenException extends RuntimeException{
+public class InvalidTokenException extends DomainException {
     public InvalidTokenException() {
         super("Invalid token provided, could not parse claims");
     }
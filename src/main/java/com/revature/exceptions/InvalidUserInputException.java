@@ -1,7 +1,7 @@
 package com.revature.exceptions;
 
 
-public class InvalidUserInputException extends RuntimeException {
+public class InvalidUserInputException extends DomainException {
     public InvalidUserInputException() {
 
     }
@@ -2,7 +2,7 @@ package com.revature.exceptions;
 
 // Exception to be thrown by the AuthAspect
 // Will be handled by a Spring Exception Handler to return a 401
-public class NotLoggedInException extends RuntimeException {
+public class NotLoggedInException extends DomainException {
 
     public NotLoggedInException() {
     }
@@ -16,7 +16,7 @@ public class NotLoggedInException extends RuntimeException {
     }
 
     public NotLoggedInException(Throwable cause) {
-        super(cause);
+        super(cause == null ? null : cause.toString(), cause);
     }
 
     public NotLoggedInException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
@@ -1,6 +1,6 @@
 package com.revature.exceptions;
 
-public class ResourceNotFoundException extends RuntimeException{
+public class ResourceNotFoundException extends DomainException {
 
     public ResourceNotFoundException() {
     }
@@ -1,7 +1,7 @@
 package com.revature.exceptions;
 
 
-public class ResourcePersistanceException extends RuntimeException{
+public class ResourcePersistanceException extends DomainException {
     public ResourcePersistanceException() {
     }
 
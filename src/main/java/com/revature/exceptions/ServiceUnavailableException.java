@@ -0,0 +1,13 @@
+package com.revature.exceptions;
+
+// Thrown when a bounded resource (e.g. the password hashing executor) is saturated.
+// Handled as a 503 so clients back off and retry instead of piling on.
+public class ServiceUnavailableException extends DomainException {
+
+    public ServiceUnavailableException() {
+    }
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
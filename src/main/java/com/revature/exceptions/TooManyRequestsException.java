@@ -0,0 +1,16 @@
+package com.revature.exceptions;
+
+// Thrown by RateLimitAspect when a client has used up its bucket; handled as a 429
+public class TooManyRequestsException extends DomainException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
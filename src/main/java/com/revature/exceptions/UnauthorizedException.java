@@ -1,6 +1,6 @@
 package com.revature.exceptions;
 
-public class UnauthorizedException extends RuntimeException{
+public class UnauthorizedException extends DomainException {
     public UnauthorizedException() {
     }
 
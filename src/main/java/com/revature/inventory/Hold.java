@@ -0,0 +1,55 @@
+package com.revature.inventory;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+// Units of one product set aside for one user's cart until expiresAt.
+// Immutable: changing a hold replaces it, and the sweeper skips queued holds that are no longer current.
+public final class Hold implements Delayed {
+
+    private final int userId;
+    private final int productId;
+    private final int quantity;
+    private final long expiresAt;
+
+    public Hold(int userId, int productId, int quantity, long expiresAt) {
+        this.userId = userId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public int getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    boolean isExpired(long now) {
+        return expiresAt <= now;
+    }
+
+    Hold withQuantity(int quantity) {
+        return new Hold(userId, productId, quantity, expiresAt);
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(expiresAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+    }
+}
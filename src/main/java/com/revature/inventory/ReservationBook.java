@@ -0,0 +1,286 @@
+package com.revature.inventory;
+
+import com.revature.dtos.ProductInfo;
+import com.revature.dtos.PurchaseLineResult;
+import com.revature.exceptions.InsufficientStockException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+// In-memory inventory: how many units of each product are on the shelf and how many are held
+// in carts, so "available = on hand - held" is answered without touching the product table.
+// On-hand counts are loaded per product on first use, updated whenever ProductService writes
+// the product and re-read after inventory.stock.ttl-seconds to pick up changes made elsewhere.
+// Every change to a product's counts and holds happens under that product's lock; holds
+// expire through a DelayQueue drained by a scheduled sweep.
+// Holds live only in this instance's memory; the conditional stock decrement at purchase
+// stays the guard against overselling.
+@Component
+public class ReservationBook {
+
+    private final ConcurrentMap<Integer, StockLevel> stock = new ConcurrentHashMap<>();
+    // userId -> productId -> hold. Inner maps are kept once created so a concurrent hold can't land in a discarded one
+    private final ConcurrentMap<Integer, ConcurrentMap<Integer, Hold>> holdsByUser = new ConcurrentHashMap<>();
+    private final DelayQueue<Hold> expiries = new DelayQueue<>();
+    private final long stockTtlMillis;
+
+    private final AtomicInteger activeHolds = new AtomicInteger();
+    private final Counter expired;
+    private final Counter converted;
+
+    public ReservationBook(@Value("${inventory.stock.ttl-seconds:60}") long stockTtlSeconds,
+                           MeterRegistry meterRegistry) {
+        this.stockTtlMillis = TimeUnit.SECONDS.toMillis(stockTtlSeconds);
+
+        Gauge.builder("inventory.holds", activeHolds, AtomicInteger::get).register(meterRegistry);
+        this.expired = meterRegistry.counter("inventory.holds.expired");
+        this.converted = meterRegistry.counter("inventory.holds.converted");
+    }
+
+    public int available(int productId, IntUnaryOperator onHandLoader) {
+        StockLevel level = level(productId, onHandLoader);
+        synchronized (level) {
+            return Math.max(0, level.onHand - level.held);
+        }
+    }
+
+    // Sets the user's hold on a product to `quantity` units and restarts its TTL.
+    // Only the difference from the current hold has to be available.
+    public Hold hold(int userId, int productId, int quantity, long ttlMillis, IntUnaryOperator onHandLoader) {
+        if (quantity <= 0) {
+            release(userId, productId);
+            return null;
+        }
+
+        StockLevel level = level(productId, onHandLoader);
+        Map<Integer, Hold> holds = holdsByUser.computeIfAbsent(userId, id -> new ConcurrentHashMap<>());
+        Hold hold = new Hold(userId, productId, quantity, System.currentTimeMillis() + ttlMillis);
+        synchronized (level) {
+            Hold previous = holds.get(productId);
+            int alreadyHeld = previous == null ? 0 : previous.getQuantity();
+            if (quantity - alreadyHeld > level.onHand - level.held) {
+                throw new InsufficientStockException(Collections.singletonList(new PurchaseLineResult(productId, quantity, false)));
+            }
+            level.held += quantity - alreadyHeld;
+            holds.put(productId, hold);
+            if (previous == null) activeHolds.incrementAndGet();
+        }
+        expiries.add(hold);
+        return hold;
+    }
+
+    public void release(int userId, int productId) {
+        Map<Integer, Hold> holds = holdsByUser.get(userId);
+        StockLevel level = stock.get(productId);
+        if (holds == null || level == null) return;
+        synchronized (level) {
+            Hold hold = holds.remove(productId);
+            if (hold != null) {
+                level.held -= hold.getQuantity();
+                activeHolds.decrementAndGet();
+            }
+        }
+    }
+
+    public List<Hold> holdsOf(int userId) {
+        Map<Integer, Hold> holds = holdsByUser.get(userId);
+        if (holds == null) return Collections.emptyList();
+        long now = System.currentTimeMillis();
+        List<Hold> live = new ArrayList<>(holds.size());
+        for (Hold hold : holds.values()) {
+            // The sweeper may not have got to it yet
+            if (!hold.isExpired(now)) live.add(hold);
+        }
+        return live;
+    }
+
+    // First step of a purchase. Each line is covered by the buyer's own hold as far as it goes,
+    // and the rest must fit in what nobody holds. The claimed units stay held until complete()
+    // or abort(). If any line can't be covered nothing is claimed and the purchase is refused.
+    public Claim claim(int userId, List<ProductInfo> lines, IntUnaryOperator onHandLoader) {
+        Map<Integer, Hold> holds = holdsByUser.getOrDefault(userId, new ConcurrentHashMap<>());
+        Claim claim = new Claim(userId);
+        List<PurchaseLineResult> results = new ArrayList<>(lines.size());
+        boolean allClaimed = true;
+
+        for (ProductInfo line : lines) {
+            boolean success = line.getQuantity() > 0 && claimLine(claim, holds, line, onHandLoader);
+            results.add(new PurchaseLineResult(line.getId(), line.getQuantity(), success));
+            allClaimed &= success;
+        }
+
+        if (!allClaimed) {
+            abort(claim);
+            throw new InsufficientStockException(results);
+        }
+        return claim;
+    }
+
+    // The purchase committed. Its units have left the shelf (the new on-hand counts arrive
+    // through stockChanged), so they are no longer held.
+    public void complete(Claim claim) {
+        for (ClaimedLine line : claim.lines) {
+            StockLevel level = stock.get(line.productId);
+            synchronized (level) {
+                level.held -= line.quantity;
+            }
+            if (line.hold != null) converted.increment();
+        }
+    }
+
+    // The purchase failed or rolled back. Unheld units go back on the shelf and the buyer's
+    // holds are given back, unless they have expired in the meantime.
+    public void abort(Claim claim) {
+        long now = System.currentTimeMillis();
+        Map<Integer, Hold> holds = holdsByUser.computeIfAbsent(claim.userId, id -> new ConcurrentHashMap<>());
+        for (ClaimedLine line : claim.lines) {
+            StockLevel level = stock.get(line.productId);
+            int covered = line.quantity - line.extra;
+            Hold restored = null;
+            synchronized (level) {
+                level.held -= line.extra;
+                if (line.hold == null) continue;
+                if (line.hold.isExpired(now)) {
+                    level.held -= covered;
+                    continue;
+                }
+                Hold current = holds.get(line.productId);
+                restored = current == null ? line.hold.withQuantity(covered) : current.withQuantity(current.getQuantity() + covered);
+                holds.put(line.productId, restored);
+                if (current == null) activeHolds.incrementAndGet();
+            }
+            expiries.add(restored);
+        }
+    }
+
+    // Called with the committed quantity whenever a product is written
+    public void stockChanged(int productId, int onHand) {
+        StockLevel level = stock.get(productId);
+        if (level == null) return;
+        synchronized (level) {
+            level.onHand = onHand;
+            level.loadedAt = System.currentTimeMillis();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.hold.sweep-ms:1000}")
+    public void expireHolds() {
+        Hold hold;
+        while ((hold = expiries.poll()) != null) {
+            Map<Integer, Hold> holds = holdsByUser.get(hold.getUserId());
+            StockLevel level = stock.get(hold.getProductId());
+            if (holds == null || level == null) continue;
+            synchronized (level) {
+                // Replaced or released holds stay queued until their time comes; only the current one counts
+                if (holds.get(hold.getProductId()) == hold) {
+                    holds.remove(hold.getProductId());
+                    level.held -= hold.getQuantity();
+                    activeHolds.decrementAndGet();
+                    expired.increment();
+                }
+            }
+        }
+    }
+
+    private boolean claimLine(Claim claim, Map<Integer, Hold> holds, ProductInfo line, IntUnaryOperator onHandLoader) {
+        int productId = line.getId();
+        StockLevel level = level(productId, onHandLoader);
+        Hold replacement = null;
+        synchronized (level) {
+            Hold hold = holds.get(productId);
+            int covered = hold == null ? 0 : Math.min(hold.getQuantity(), line.getQuantity());
+            int extra = line.getQuantity() - covered;
+            if (extra > level.onHand - level.held) return false;
+
+            level.held += extra;
+            if (hold != null) {
+                if (covered == hold.getQuantity()) {
+                    holds.remove(productId);
+                    activeHolds.decrementAndGet();
+                } else {
+                    replacement = hold.withQuantity(hold.getQuantity() - covered);
+                    holds.put(productId, replacement);
+                }
+            }
+            claim.lines.add(new ClaimedLine(productId, line.getQuantity(), extra, hold));
+        }
+        if (replacement != null) expiries.add(replacement);
+        return true;
+    }
+
+    private StockLevel level(int productId, IntUnaryOperator onHandLoader) {
+        long now = System.currentTimeMillis();
+        StockLevel level = stock.get(productId);
+        if (level == null) {
+            // Loaded outside the map so the query doesn't run under a bin lock; if two threads race, the first entry wins.
+            // Products with nothing on hand (unknown, inactive or sold out) get a throwaway level that can't be held,
+            // so arbitrary ids can't grow the map
+            int onHand = onHandLoader.applyAsInt(productId);
+            if (onHand <= 0) {
+                return new StockLevel(0, now);
+            }
+            StockLevel loaded = new StockLevel(onHand, now);
+            StockLevel raced = stock.putIfAbsent(productId, loaded);
+            return raced == null ? loaded : raced;
+        }
+        if (now - level.loadedAt > stockTtlMillis) {
+            int onHand = onHandLoader.applyAsInt(productId);
+            synchronized (level) {
+                level.onHand = onHand;
+                level.loadedAt = now;
+            }
+        }
+        return level;
+    }
+
+    private static class StockLevel {
+        private int onHand;
+        private int held;
+        private volatile long loadedAt;
+
+        private StockLevel(int onHand, long loadedAt) {
+            this.onHand = onHand;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    // Units claimed by one purchase in progress
+    public static final class Claim {
+        private final int userId;
+        private final List<ClaimedLine> lines = new ArrayList<>();
+
+        private Claim(int userId) {
+            this.userId = userId;
+        }
+    }
+
+    private static class ClaimedLine {
+        private final int productId;
+        private final int quantity;
+        // Units taken from the shelf on top of the buyer's hold
+        private final int extra;
+        // The buyer's hold before the claim, if they had one
+        private final Hold hold;
+
+        private ClaimedLine(int productId, int quantity, int extra, Hold hold) {
+            this.productId = productId;
+            this.quantity = quantity;
+            this.extra = extra;
+            this.hold = hold;
+        }
+    }
+}
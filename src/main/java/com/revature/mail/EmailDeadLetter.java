@@ -0,0 +1,16 @@
+package com.revature.mail;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.mail.SimpleMailMessage;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailDeadLetter {
+    private SimpleMailMessage message;
+    private int attempts;
+    private String reason;
+    private long failedAt;
+}
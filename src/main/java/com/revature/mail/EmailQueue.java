@@ -0,0 +1,224 @@
+package com.revature.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Bounded outbound mail queue drained by a small pool of sender threads, so SMTP latency never
+// sits on a request thread. Each worker sends up to batch-size queued messages per call, which
+// JavaMailSenderImpl delivers over a single connection. Failed messages are retried with
+// exponential backoff; messages that run out of attempts, or arrive while the queue is full,
+// go to a bounded dead-letter list instead of blocking the caller.
+@Component
+public class EmailQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailQueue.class);
+
+    private final JavaMailSender mailSender;
+    private final BlockingQueue<OutboundEmail> queue;
+    private final Deque<EmailDeadLetter> deadLetters = new ArrayDeque<>();
+    // Failed messages waiting out their backoff; whoever removes one (the retry or shutdown) owns it
+    private final Set<OutboundEmail> pendingRetries = ConcurrentHashMap.newKeySet();
+    private final ExecutorService workers;
+    private final ScheduledExecutorService retries;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final int deadLetterCapacity;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter deadLettered;
+    private volatile boolean running = true;
+
+    public EmailQueue(JavaMailSender mailSender,
+                      @Value("${mail.queue.capacity:1000}") int capacity,
+                      @Value("${mail.queue.workers:2}") int workerCount,
+                      @Value("${mail.queue.batch-size:20}") int batchSize,
+                      @Value("${mail.queue.max-attempts:5}") int maxAttempts,
+                      @Value("${mail.queue.initial-backoff-ms:1000}") long initialBackoffMillis,
+                      @Value("${mail.queue.dead-letter-capacity:1000}") int deadLetterCapacity,
+                      MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.deadLetterCapacity = deadLetterCapacity;
+
+        Gauge.builder("mail.queue.size", queue, Collection::size).register(meterRegistry);
+        Gauge.builder("mail.dead_letters", deadLetters, this::size).register(meterRegistry);
+        this.sent = meterRegistry.counter("mail.sent");
+        this.retried = meterRegistry.counter("mail.retried");
+        this.deadLettered = meterRegistry.counter("mail.dead_lettered");
+
+        this.retries = Executors.newSingleThreadScheduledExecutor(daemonThreads("mail-retry-"));
+        this.workers = Executors.newFixedThreadPool(workerCount, daemonThreads("mail-sender-"));
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::drain);
+        }
+    }
+
+    // Never blocks; returns false if the message had to be dead-lettered because the queue is full
+    public boolean enqueue(SimpleMailMessage message) {
+        return offer(new OutboundEmail(message, 1));
+    }
+
+    public List<EmailDeadLetter> getDeadLetters() {
+        synchronized (deadLetters) {
+            return new ArrayList<>(deadLetters);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        retries.shutdownNow();
+        for (OutboundEmail email : pendingRetries) {
+            if (pendingRetries.remove(email)) {
+                deadLetter(email, "Shut down before retry");
+            }
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Shutting down with {} unsent email(s)", queue.size());
+        }
+    }
+
+    private boolean offer(OutboundEmail email) {
+        if (!queue.offer(email)) {
+            deadLetter(email, "Queue full");
+            return false;
+        }
+        return true;
+    }
+
+    private void drain() {
+        List<OutboundEmail> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                // Poll rather than take so the worker notices shutdown
+                OutboundEmail first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Not a delivery failure the sender reported, so there is nothing to retry on; keep a record of the batch
+                log.error("Unexpected failure in mail sender", e);
+                for (OutboundEmail email : batch) {
+                    deadLetter(email, e.toString());
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<OutboundEmail> batch) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < messages.length; i++) {
+            messages[i] = batch.get(i).getMessage();
+        }
+
+        try {
+            mailSender.send(messages);
+            sent.increment(batch.size());
+        } catch (MailSendException e) {
+            // JavaMailSenderImpl reports failures per message; only those need another attempt
+            Map<Object, Exception> failed = e.getFailedMessages();
+            for (OutboundEmail email : batch) {
+                if (failed.isEmpty() || failed.containsKey(email.getMessage())) {
+                    retryOrDeadLetter(email, e);
+                } else {
+                    sent.increment();
+                }
+            }
+        } catch (MailException e) {
+            for (OutboundEmail email : batch) {
+                retryOrDeadLetter(email, e);
+            }
+        }
+    }
+
+    private void retryOrDeadLetter(OutboundEmail email, MailException cause) {
+        if (email.getAttempt() >= maxAttempts || !running) {
+            deadLetter(email, cause.getMessage());
+            return;
+        }
+        long delay = initialBackoffMillis << Math.min(email.getAttempt() - 1, 16);
+        pendingRetries.add(email);
+        try {
+            retries.schedule(() -> {
+                if (pendingRetries.remove(email)) {
+                    offer(email.nextAttempt());
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+            retried.increment();
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            pendingRetries.remove(email);
+            deadLetter(email, cause.getMessage());
+        }
+    }
+
+    private void deadLetter(OutboundEmail email, String reason) {
+        synchronized (deadLetters) {
+            deadLetters.addLast(new EmailDeadLetter(email.getMessage(), email.getAttempt(), reason, System.currentTimeMillis()));
+            while (deadLetters.size() > deadLetterCapacity) {
+                deadLetters.pollFirst();
+            }
+        }
+        deadLettered.increment();
+        log.warn("Gave up on email \"{}\" after {} attempt(s): {}", email.getMessage().getSubject(), email.getAttempt(), reason);
+    }
+
+    private int size(Deque<EmailDeadLetter> letters) {
+        synchronized (letters) {
+            return letters.size();
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
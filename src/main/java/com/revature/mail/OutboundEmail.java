@@ -0,0 +1,27 @@
+package com.revature.mail;
+
+import org.springframework.mail.SimpleMailMessage;
+
+// A queued message and the delivery attempt it is waiting for
+class OutboundEmail {
+
+    private final SimpleMailMessage message;
+    private final int attempt;
+
+    OutboundEmail(SimpleMailMessage message, int attempt) {
+        this.message = message;
+        this.attempt = attempt;
+    }
+
+    SimpleMailMessage getMessage() {
+        return message;
+    }
+
+    int getAttempt() {
+        return attempt;
+    }
+
+    OutboundEmail nextAttempt() {
+        return new OutboundEmail(message, attempt + 1);
+    }
+}
@@ -16,7 +16,8 @@ import java.sql.Date;
 @Table(name="orders")
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_id_seq", allocationSize = 50)
     private int id;
     @ManyToOne
     @JoinColumn(name = "user_id", referencedColumnName = "id")
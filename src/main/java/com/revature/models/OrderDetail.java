@@ -14,8 +14,11 @@ import javax.persistence.*;
 @AllArgsConstructor
 @Table(name="order_details")
 public class OrderDetail {
+    // A pooled sequence lets Hibernate assign ids up front, so a checkout's lines go out as one JDBC batch;
+    // IDENTITY would force an insert round trip per row. Every entity uses the same scheme, see resources/migrations
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_details_seq")
+    @SequenceGenerator(name = "order_details_seq", sequenceName = "order_details_id_seq", allocationSize = 50)
     private int id;
     @ManyToOne
     @JoinColumn(name = "order_id")
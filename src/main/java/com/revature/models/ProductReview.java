@@ -12,10 +12,15 @@ import javax.persistence.*;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_product_review_product_id", columnList = "product_id, id"),
+        @Index(name = "idx_product_review_product_rating", columnList = "product_id, rating, id")
+})
 public class ProductReview {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_review_seq")
+    @SequenceGenerator(name = "product_review_seq", sequenceName = "product_review_id_seq", allocationSize = 50)
     private int id;
 
     private int rating;
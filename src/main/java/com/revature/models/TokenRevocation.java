@@ -0,0 +1,40 @@
+package com.revature.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.util.Date;
+
+// A revoked token (tokenId set) or all of a user's tokens issued up to revokedAt (tokenId null).
+// Rows only matter until expiresAt, after which every token they could match has expired anyway.
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "token_revocations", indexes = {
+        @Index(name = "idx_token_revocations_token_id", columnList = "tokenId", unique = true),
+        @Index(name = "idx_token_revocations_revoked_at", columnList = "revokedAt"),
+        @Index(name = "idx_token_revocations_expires_at", columnList = "expiresAt")
+})
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "token_revocations_seq")
+    @SequenceGenerator(name = "token_revocations_seq", sequenceName = "token_revocations_id_seq", allocationSize = 50)
+    private int id;
+    private String tokenId;
+    private int userId;
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date revokedAt;
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date expiresAt;
+
+    public TokenRevocation(String tokenId, int userId, Date revokedAt, Date expiresAt) {
+        this.tokenId = tokenId;
+        this.userId = userId;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -12,11 +12,15 @@ import javax.persistence.*;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_email", columnList = "email", unique = true),
+        @Index(name = "idx_users_reset_password_token", columnList = "resetPasswordToken", unique = true)
+})
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private int id;
     private String email;
     private String password;
@@ -44,4 +48,8 @@ public class User {
         this.isActive = userResponse.isActive();
     }
 
+    public User(User other) {
+        this(other.id, other.email, other.password, other.firstName, other.lastName, other.isAdmin, other.isActive, other.resetPasswordToken);
+    }
+
 }
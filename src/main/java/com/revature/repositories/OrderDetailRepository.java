@@ -1,13 +1,31 @@
 package com.revature.repositories;
+import com.revature.dtos.OrderDetailResponse;
 import com.revature.models.Order;
 import com.revature.models.OrderDetail;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
 
 
 @Repository
 public interface OrderDetailRepository extends JpaRepository<OrderDetail, Integer> {
 
     List<OrderDetail> findByOrderId(Order order);
-}
\ No newline at end of file
+
+    // Lines of one order together with the order, its buyer, payment and products, in a single statement.
+    // Matching on the owner here means someone else's order simply comes back empty.
+    @Query("SELECT d FROM OrderDetail d JOIN FETCH d.orderId o JOIN FETCH o.userId u LEFT JOIN FETCH o.paymentId " +
+            "JOIN FETCH d.productId WHERE o.id = :orderId AND u.id = :userId ORDER BY d.id")
+    List<OrderDetail> findOwnedOrderLines(int orderId, int userId);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    // Projected so the eager Order -> User/Payment graph is never loaded
+    @Query("SELECT new com.revature.dtos.OrderDetailResponse(d.id, o.id, p.id, d.quantity) " +
+            "FROM OrderDetail d JOIN d.orderId o JOIN d.productId p ORDER BY d.id")
+    Stream<OrderDetailResponse> streamAllResponses();
+}
@@ -1,13 +1,43 @@
 package com.revature.repositories;
 
+import com.revature.dtos.OrderResponse;
 import com.revature.models.Order;
 import com.revature.models.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.sql.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Integer> {
     List<Order> findByUserId(User userId);
+
+    // Build OrderResponse straight from the joined columns so listing orders never loads User or Payment entities
+    @Query("SELECT new com.revature.dtos.OrderResponse(o.id, u.email, p.id, o.orderDate, o.shipmentAddress) " +
+            "FROM Order o JOIN o.userId u LEFT JOIN o.paymentId p ORDER BY o.id")
+    List<OrderResponse> findAllResponses();
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.revature.dtos.OrderResponse(o.id, u.email, p.id, o.orderDate, o.shipmentAddress) " +
+            "FROM Order o JOIN o.userId u LEFT JOIN o.paymentId p ORDER BY o.id")
+    Stream<OrderResponse> streamAllResponses();
+
+    @Query("SELECT new com.revature.dtos.OrderResponse(o.id, u.email, p.id, o.orderDate, o.shipmentAddress) " +
+            "FROM Order o JOIN o.userId u LEFT JOIN o.paymentId p " +
+            "WHERE u.id = :userId AND o.orderDate BETWEEN :from AND :to " +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    List<OrderResponse> findHistory(int userId, Date from, Date to);
+
+    @Query("SELECT new com.revature.dtos.OrderResponse(o.id, u.email, p.id, o.orderDate, o.shipmentAddress) " +
+            "FROM Order o JOIN o.userId u LEFT JOIN o.paymentId p " +
+            "WHERE u.id = :userId AND o.orderDate BETWEEN :from AND :to " +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    Slice<OrderResponse> findHistoryPage(int userId, Date from, Date to, Pageable pageable);
 }
@@ -1,11 +1,16 @@
 package com.revature.repositories;
 
 import com.revature.models.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 
@@ -15,7 +20,36 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
     @Query("FROM Product WHERE is_active = true and id = :id")
     Optional<Product> findActiveById(int id);
 
-    @Query("FROM Product WHERE (lower(name) LIKE lower(:keyword) OR lower(description) LIKE lower(:keyword)) AND is_active = true")
-    List<Product> findByKeyword(String keyword);
+    // Conditional decrement: the stock check and the write happen in one statement,
+    // so concurrent checkouts can never oversell. Returns 0 when there isn't enough stock.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Product SET quantity = quantity - :amount WHERE id = :id AND quantity >= :amount AND is_active = true")
+    int decrementStock(int id, int amount);
 
+    // Keyset pagination: each query seeks past the last row of the previous page
+    // using the (sort key, id) pair, so a page costs the same no matter how deep it is.
+    @Query("FROM Product WHERE is_active = true AND id > :after ORDER BY id")
+    List<Product> findActivePageAfterId(int after, Pageable pageable);
+
+    @Query("FROM Product WHERE is_active = true ORDER BY price, id")
+    List<Product> findActivePageByPrice(Pageable pageable);
+
+    @Query("FROM Product WHERE is_active = true AND (price > :price OR (price = :price AND id > :after)) ORDER BY price, id")
+    List<Product> findActivePageAfterPrice(double price, int after, Pageable pageable);
+
+    @Query("FROM Product WHERE is_active = true ORDER BY name, id")
+    List<Product> findActivePageByName(Pageable pageable);
+
+    @Query("FROM Product WHERE is_active = true AND (name > :name OR (name = :name AND id > :after)) ORDER BY name, id")
+    List<Product> findActivePageAfterName(String name, int after, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("FROM Product WHERE is_active = true ORDER BY id")
+    Stream<Product> streamAllActive();
+
+    // Every product, active or not, read through a database cursor. Must be consumed inside a transaction
+    // and closed afterwards; callers should detach rows as they go so the persistence context stays small.
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAll();
 }
@@ -2,23 +2,47 @@ package com.revature.repositories;
 
 
 import com.revature.models.ProductReview;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ProductReviewRepository extends JpaRepository<ProductReview, Integer> {
 
-    @Query("FROM ProductReview WHERE product_id = :product_id")
+    // Reviews are always rendered with their author and product, so fetch both in the same statement
+    @Query("SELECT r FROM ProductReview r JOIN FETCH r.userId JOIN FETCH r.postId")
+    List<ProductReview> findAllWithAuthors();
+
+    @Query("SELECT r FROM ProductReview r JOIN FETCH r.userId JOIN FETCH r.postId")
+    Slice<ProductReview> findPageWithAuthors(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r FROM ProductReview r JOIN FETCH r.userId JOIN FETCH r.postId ORDER BY r.id")
+    Stream<ProductReview> streamAllWithAuthors();
+
+    @Query("SELECT r FROM ProductReview r JOIN FETCH r.userId JOIN FETCH r.postId WHERE r.postId.id = :product_id")
     List<ProductReview> findAllByProductId(int product_id);
 
-    @Query("SELECT rating FROM ProductReview WHERE product_id = :product_id")
-    List<Integer> findProductAverageScore(int product_id);
+    @Query("SELECT r FROM ProductReview r JOIN FETCH r.userId JOIN FETCH r.postId WHERE r.postId.id = :product_id")
+    Slice<ProductReview> findPageByProductId(int product_id, Pageable pageable);
+
+    @Query("SELECT r.postId.id AS productId, r.rating AS rating, COUNT(r) AS reviews FROM ProductReview r GROUP BY r.postId.id, r.rating")
+    List<RatingCount> countRatingsByProduct();
 
-    @Query("FROM ProductReview WHERE product_id = :product_id AND rating = :rating")
+    @Query("SELECT r FROM ProductReview r JOIN FETCH r.userId JOIN FETCH r.postId WHERE r.postId.id = :product_id AND r.rating = :rating")
     List<ProductReview> findAllByProductScore(int product_id,int rating);
 
     @Query("FROM ProductReview WHERE product_id = :product_id AND user_id = :user_id")
     List<ProductReview> canPost(int product_id,int user_id);
 
+    interface RatingCount {
+        int getProductId();
+        int getRating();
+        long getReviews();
+    }
 }
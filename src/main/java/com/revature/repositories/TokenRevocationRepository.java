@@ -0,0 +1,24 @@
+package com.revature.repositories;
+
+import com.revature.models.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Integer> {
+
+    @Query("FROM TokenRevocation WHERE expiresAt > :now")
+    List<TokenRevocation> findAllLive(Date now);
+
+    @Query("FROM TokenRevocation WHERE revokedAt >= :since AND expiresAt > :now")
+    List<TokenRevocation> findLiveRevokedSince(Date since, Date now);
+
+    @Modifying
+    @Query("DELETE FROM TokenRevocation WHERE expiresAt <= :now")
+    int deleteExpired(Date now);
+}
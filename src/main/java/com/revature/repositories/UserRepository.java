@@ -14,9 +14,6 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     @Query(value = "FROM User where email= :email")
     Optional<User> checkEmail(String email);
 
-    @Query(value = "FROM User where email = :email AND password = :password")
-    Optional<User> findByEmailAndPassword(String email, String password);
-
     @Query(value = "FROM User where reset_password_token= :resetPasswordToken")
     Optional<User> findByResetPasswordToken(String resetPasswordToken);
 
@@ -0,0 +1,155 @@
+package com.revature.search;
+
+import com.revature.models.Product;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// In-memory inverted index over the name and description of every active product.
+// Terms are lower-cased and kept in sorted order, so a query term also matches every
+// indexed term it is a prefix of ("ba" finds "bag" and "baseball").
+// Writes are serialized, reads never lock.
+@Component
+public class ProductSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    // An exact term match outranks a prefix match of the same term
+    private static final int EXACT_MATCH_BOOST = 2;
+
+    // term -> (product id -> weight of the term in that product)
+    private final ConcurrentSkipListMap<String, Map<Integer, Integer>> postings = new ConcurrentSkipListMap<>();
+    // product id -> what was indexed for it, so stale postings can be removed on update
+    private final Map<Integer, IndexedProduct> documents = new ConcurrentHashMap<>();
+
+    public synchronized void rebuild(List<Product> products) {
+        postings.clear();
+        documents.clear();
+        products.forEach(this::index);
+    }
+
+    // Indexes the product, replacing any previous version of it. Inactive products are dropped.
+    public synchronized void index(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        remove(product.getId());
+        if (!product.isActive()) {
+            return;
+        }
+
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : tokenize(product.getName())) {
+            weights.merge(term, NAME_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(product.getDescription())) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(product.getId(), weight));
+        documents.put(product.getId(), new IndexedProduct(new Product(product), weights.keySet()));
+    }
+
+    public synchronized void remove(Integer productId) {
+        IndexedProduct previous = documents.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms) {
+            Map<Integer, Integer> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(productId);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    // Every query term has to match (as a whole term or a prefix). Results are ordered by
+    // score, highest first, then by id.
+    public List<Product> search(String keyword, int limit) {
+        List<String> queryTerms = tokenize(keyword);
+        if (queryTerms.isEmpty() || limit < 1) {
+            return Collections.emptyList();
+        }
+
+        Map<Integer, Integer> scores = null;
+        for (String queryTerm : queryTerms) {
+            Map<Integer, Integer> termScores = scoreTerm(queryTerm);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        List<Product> results = new ArrayList<>(Math.min(limit, scores.size()));
+        List<Map.Entry<Integer, Integer>> ranked = scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.<Integer, Integer>comparingByKey()))
+                .collect(Collectors.toList());
+        for (Map.Entry<Integer, Integer> entry : ranked) {
+            IndexedProduct document = documents.get(entry.getKey());
+            if (document != null) {
+                results.add(new Product(document.product));
+            }
+            if (results.size() == limit) {
+                break;
+            }
+        }
+        return results;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private Map<Integer, Integer> scoreTerm(String queryTerm) {
+        Map<Integer, Integer> termScores = new HashMap<>();
+        Map<String, Map<Integer, Integer>> matches = postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, true);
+        for (Map.Entry<String, Map<Integer, Integer>> match : matches.entrySet()) {
+            int boost = match.getKey().equals(queryTerm) ? EXACT_MATCH_BOOST : 1;
+            match.getValue().forEach((id, weight) -> termScores.merge(id, weight * boost, Math::max));
+        }
+        return termScores;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase())) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    private static class IndexedProduct {
+        private final Product product;
+        private final Set<String> terms;
+
+        private IndexedProduct(Product product, Set<String> terms) {
+            this.product = product;
+            this.terms = terms;
+        }
+    }
+}
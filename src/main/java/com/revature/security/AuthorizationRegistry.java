@@ -0,0 +1,81 @@
+package com.revature.security;
+
+import com.revature.annotations.Authorized;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// What each @Authorized handler method requires of the caller, read from the annotations once
+// at startup so AuthAspect does a single map lookup per request instead of reflecting on the method.
+@Component
+public class AuthorizationRegistry implements SmartInitializingSingleton {
+
+    private final ApplicationContext applicationContext;
+    private final Map<Method, Requirement> requirements = new ConcurrentHashMap<>();
+
+    public AuthorizationRegistry(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String beanName : applicationContext.getBeanNamesForAnnotation(RestController.class)) {
+            Class<?> type = applicationContext.getType(beanName);
+            if (type == null) continue;
+            requirements.putAll(MethodIntrospector.selectMethods(ClassUtils.getUserClass(type),
+                    (MethodIntrospector.MetadataLookup<Requirement>) AuthorizationRegistry::read));
+        }
+    }
+
+    // Methods outside a @RestController (or not seen at startup) are read on first use
+    public Requirement requirementFor(Method method) {
+        Requirement requirement = requirements.get(method);
+        return requirement != null ? requirement : requirements.computeIfAbsent(method, AuthorizationRegistry::read);
+    }
+
+    public int size() {
+        return requirements.size();
+    }
+
+    private static Requirement read(Method method) {
+        Authorized authorized = method.getAnnotation(Authorized.class);
+        if (authorized == null) return null;
+        return Requirement.of(authorized.isAdmin(), authorized.isActive());
+    }
+
+    // Only four combinations exist, so they are shared
+    public static final class Requirement {
+
+        private static final Requirement[] ALL = {
+                new Requirement(false, false), new Requirement(false, true),
+                new Requirement(true, false), new Requirement(true, true)
+        };
+
+        private final boolean admin;
+        private final boolean active;
+
+        private Requirement(boolean admin, boolean active) {
+            this.admin = admin;
+            this.active = active;
+        }
+
+        public static Requirement of(boolean admin, boolean active) {
+            return ALL[(admin ? 2 : 0) + (active ? 1 : 0)];
+        }
+
+        public boolean isAdmin() {
+            return admin;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+    }
+}
@@ -14,9 +14,14 @@ public class JWTConfig {
     @Value("${jwt.secret}")
     private String salt;
 
-    @Value("#{24*60*60*1000}")
+    // Access tokens are short-lived and cannot be checked against the database per request;
+    // clients renew them with the refresh token, which is where revocation bites
+    @Value("${jwt.access-expiration-ms:900000}")
     private int expiration;
 
+    @Value("${jwt.refresh-expiration-ms:1209600000}")
+    private long refreshExpiration;
+
     private final SignatureAlgorithm sigAlg = SignatureAlgorithm.HS256;
 
     private Key signingKey;
@@ -31,6 +36,10 @@ public class JWTConfig {
         return expiration;
     }
 
+    public long getRefreshExpiration() {
+        return refreshExpiration;
+    }
+
     public SignatureAlgorithm getSigAlg() {
         return sigAlg;
     }
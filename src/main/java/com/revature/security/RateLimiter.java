@@ -0,0 +1,55 @@
+package com.revature.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-memory token buckets, one per (limiter, client) key.
+// Each bucket is a single AtomicLong holding the time at which it will be full again (the
+// "theoretical arrival time" of GCRA), so taking a token is one compare-and-set with no lock and
+// no refill bookkeeping. Lookups go through Caffeine, whose map is striped, so unrelated clients
+// never contend. Idle buckets are dropped once they have long since refilled.
+@Component
+public class RateLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimiter(@Value("${rate-limit.max-buckets:100000}") long maxBuckets,
+                       @Value("${rate-limit.idle-seconds:3600}") long idleSeconds,
+                       MeterRegistry meterRegistry) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleSeconds, TimeUnit.SECONDS)
+                .build();
+
+        Gauge.builder("rate_limit.buckets", buckets, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    // Takes a token from the bucket. Returns 0 if one was available, otherwise the number of
+    // nanoseconds until the next one is, and the bucket is left untouched.
+    public long tryAcquire(String key, int capacity, long refillIntervalNanos) {
+        return tryAcquire(key, capacity, refillIntervalNanos, System.nanoTime());
+    }
+
+    long tryAcquire(String key, int capacity, long refillIntervalNanos, long now) {
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(now));
+        long burst = capacity * refillIntervalNanos;
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + refillIntervalNanos;
+            long wait = next - now - burst;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.revature.security;
+
+import java.util.Date;
+
+// What a verified refresh token says about itself, enough to reissue and revoke it
+public class RefreshTokenClaims {
+
+    private final int userId;
+    private final String tokenId;
+    private final Date expiresAt;
+
+    public RefreshTokenClaims(int userId, String tokenId, Date expiresAt) {
+        this.userId = userId;
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -6,9 +6,15 @@ import io.jsonwebtoken.Jwts;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class TokenGenerator {
+
+    // Values of the "typ" claim; a refresh token is only accepted by /auth/refresh
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+
     private final JWTConfig jwtConfig;
 
     public TokenGenerator(JWTConfig jwtConfig) {
@@ -16,6 +22,15 @@ public class TokenGenerator {
     }
 
     public String createToken(Principal principalUser) {
+        return createToken(principalUser, ACCESS_TOKEN, jwtConfig.getExpiration());
+    }
+
+    public String createRefreshToken(Principal principalUser) {
+        return createToken(principalUser, REFRESH_TOKEN, jwtConfig.getRefreshExpiration());
+    }
+
+    // The standard jti claim already carries the user id, so the token's own id goes in "tid"
+    private String createToken(Principal principalUser, String type, long lifetimeMillis) {
         long now = System.currentTimeMillis();
         JwtBuilder tokenBuilder = Jwts.builder()
                 .setId(Integer.toString(principalUser.getId()))
@@ -23,8 +38,10 @@ public class TokenGenerator {
                 .setIssuer("Congo")
                 .claim("isAdmin", principalUser.isAdmin())
                 .claim("isActive", principalUser.isActive())
+                .claim("tid", UUID.randomUUID().toString())
+                .claim("typ", type)
                 .setIssuedAt(new Date(now))
-                .setExpiration(new Date(now + jwtConfig.getExpiration()))
+                .setExpiration(new Date(now + lifetimeMillis))
                 .signWith(jwtConfig.getSigAlg(),jwtConfig.getSigningKey());
         return tokenBuilder.compact();
     }
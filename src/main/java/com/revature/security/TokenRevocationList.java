@@ -0,0 +1,173 @@
+package com.revature.security;
+
+import com.revature.exceptions.UnauthorizedException;
+import com.revature.models.TokenRevocation;
+import com.revature.repositories.TokenRevocationRepository;
+import com.revature.util.BloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Revoked tokens, checked on every authenticated request without touching the database.
+// A Bloom filter answers the common "not revoked" case in a few nanoseconds; its rare false
+// positives are settled by the exact set of token ids and the per-user cut-off times.
+// Revocations are persisted, loaded at startup, picked up from other instances every
+// token.revocation.sync-ms, and the filter is rebuilt (dropping expired rows) every
+// token.revocation.rebuild-ms since entries cannot be removed from a Bloom filter.
+@Component
+public class TokenRevocationList {
+
+    // Rows committed by other instances just before the previous sync must not be missed
+    private static final long SYNC_OVERLAP_MILLIS = 60_000;
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final JWTConfig jwtConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+
+    private volatile Revocations current;
+    private volatile long lastSyncMillis;
+
+    public TokenRevocationList(TokenRevocationRepository tokenRevocationRepository,
+                               JWTConfig jwtConfig,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${token.revocation.expected:100000}") int expectedRevocations,
+                               @Value("${token.revocation.false-positive-rate:0.001}") double falsePositiveRate,
+                               MeterRegistry meterRegistry) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.jwtConfig = jwtConfig;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.current = new Revocations(expectedRevocations, falsePositiveRate);
+
+        Gauge.builder("auth.revocations", this, list -> list.current.size()).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        long now = System.currentTimeMillis();
+        current = build(now);
+        lastSyncMillis = now;
+    }
+
+    // Scheduled tasks share one thread, so sync and rebuild never overlap
+    @Scheduled(fixedDelayString = "${token.revocation.sync-ms:30000}", initialDelayString = "${token.revocation.sync-ms:30000}")
+    public void sync() {
+        long now = System.currentTimeMillis();
+        Revocations target = current;
+        for (TokenRevocation revocation : tokenRevocationRepository.findLiveRevokedSince(new Date(lastSyncMillis - SYNC_OVERLAP_MILLIS), new Date(now))) {
+            target.add(revocation);
+        }
+        lastSyncMillis = now;
+    }
+
+    @Scheduled(fixedDelayString = "${token.revocation.rebuild-ms:3600000}", initialDelayString = "${token.revocation.rebuild-ms:3600000}")
+    public void rebuild() {
+        long now = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> tokenRevocationRepository.deleteExpired(new Date(now)));
+        // Anything committed after the rows were read is picked up by the next sync, which
+        // still starts from before this rebuild
+        current = build(now);
+    }
+
+    public boolean isRevoked(String tokenId, int userId, long issuedAtMillis) {
+        return current.isRevoked(tokenId, userId, issuedAtMillis);
+    }
+
+    // Revokes one token until it would have expired anyway. The row is flushed right away and
+    // token ids are unique, so when two requests (on any instance) revoke the same token only the
+    // first succeeds; the other gets UnauthorizedException and must not issue anything.
+    public void revokeToken(String tokenId, int userId, Date expiresAt) {
+        try {
+            record(new TokenRevocation(tokenId, userId, new Date(), expiresAt), true);
+        } catch (DataIntegrityViolationException e) {
+            throw new UnauthorizedException("Token has already been used");
+        }
+    }
+
+    // Revokes every token the user holds right now. Tokens only carry their issue time to the
+    // second, so one issued later within the same second is revoked as well.
+    public void revokeUser(int userId) {
+        long now = System.currentTimeMillis();
+        record(new TokenRevocation(null, userId, new Date(now), new Date(now + jwtConfig.getRefreshExpiration())), false);
+    }
+
+    // Persisted with the caller's transaction and applied in memory once it commits
+    private void record(TokenRevocation revocation, boolean flush) {
+        if (flush) {
+            tokenRevocationRepository.saveAndFlush(revocation);
+        } else {
+            tokenRevocationRepository.save(revocation);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            current.add(revocation);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                current.add(revocation);
+            }
+        });
+    }
+
+    private Revocations build(long now) {
+        List<TokenRevocation> live = tokenRevocationRepository.findAllLive(new Date(now));
+        Revocations revocations = new Revocations(Math.max(expectedRevocations, live.size() * 2), falsePositiveRate);
+        for (TokenRevocation revocation : live) {
+            revocations.add(revocation);
+        }
+        return revocations;
+    }
+
+    private static class Revocations {
+        private final BloomFilter filter;
+        private final Set<String> tokenIds = ConcurrentHashMap.newKeySet();
+        private final Map<Integer, Long> usersRevokedAt = new ConcurrentHashMap<>();
+
+        private Revocations(int expected, double falsePositiveRate) {
+            this.filter = new BloomFilter(expected, falsePositiveRate);
+        }
+
+        private void add(TokenRevocation revocation) {
+            if (revocation.getTokenId() != null) {
+                tokenIds.add(revocation.getTokenId());
+                filter.put(BloomFilter.hash(revocation.getTokenId()));
+            } else {
+                usersRevokedAt.merge(revocation.getUserId(), revocation.getRevokedAt().getTime(), Math::max);
+                filter.put(BloomFilter.hash(revocation.getUserId()));
+            }
+        }
+
+        private boolean isRevoked(String tokenId, int userId, long issuedAtMillis) {
+            if (tokenId != null && filter.mightContain(BloomFilter.hash(tokenId)) && tokenIds.contains(tokenId)) {
+                return true;
+            }
+            if (filter.mightContain(BloomFilter.hash(userId))) {
+                Long revokedAt = usersRevokedAt.get(userId);
+                return revokedAt != null && issuedAtMillis <= revokedAt;
+            }
+            return false;
+        }
+
+        private int size() {
+            return tokenIds.size() + usersRevokedAt.size();
+        }
+    }
+}
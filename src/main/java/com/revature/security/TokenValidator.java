@@ -1,37 +1,145 @@
 package com.revature.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.revature.dtos.Principal;
 import com.revature.exceptions.UnauthorizedException;
+import com.revature.util.RateLimitedLogger;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Date;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class TokenValidator {
 
+    // Rejected tokens are routine (expired sessions, scanners), so keep a trace of them without
+    // letting a burst of bad requests flood the log. The token itself is never logged.
+    private static final RateLimitedLogger rejections =
+            new RateLimitedLogger(LoggerFactory.getLogger(TokenValidator.class), 10, 1, TimeUnit.MINUTES);
+
     private final JWTConfig jwtConfig;
+    private final TokenRevocationList tokenRevocationList;
+
+    // Token -> principal for tokens that already passed signature verification, so a
+    // client sending the same token on every call only pays for the HMAC check once.
+    // Entries never outlive the token's own exp claim. Null when caching is disabled.
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
-    public TokenValidator(JWTConfig jwtConfig) {
+    public TokenValidator(JWTConfig jwtConfig,
+                          TokenRevocationList tokenRevocationList,
+                          @Value("${jwt.cache.max-size:10000}") long maxCachedTokens) {
         this.jwtConfig = jwtConfig;
+        this.tokenRevocationList = tokenRevocationList;
+        this.verifiedTokens = maxCachedTokens <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(maxCachedTokens)
+                .expireAfter(new UntilTokenExpires())
+                .build();
     }
 
     public Optional<Principal> parseToken(String token) {
+        VerifiedToken verified = verifiedTokens == null ? null : verifiedTokens.getIfPresent(token);
+        if (verified != null && verified.expiresAt > System.currentTimeMillis()) {
+            // Revocation can happen after the token was cached, so it is checked on every hit
+            if (tokenRevocationList.isRevoked(verified.tokenId, verified.principal.getId(), verified.issuedAt)) {
+                rejections.warn("token_rejected", "revoked");
+                throw new UnauthorizedException("Token has been revoked");
+            }
+            return Optional.of(verified.principal);
+        }
+
+        try {
+            Claims claims = parseClaims(token);
+            // Tokens issued before refresh tokens existed carry no type and are access tokens
+            if (TokenGenerator.REFRESH_TOKEN.equals(claims.get("typ", String.class))) {
+                throw new UnauthorizedException("Refresh tokens cannot be used to access resources");
+            }
+            Principal principal = new Principal(Integer.parseInt(claims.getId()), claims.getSubject(), claims.get("isAdmin",Boolean.class), claims.get("isActive",Boolean.class));
+
+            String tokenId = claims.get("tid", String.class);
+            long issuedAt = claims.getIssuedAt() == null ? 0 : claims.getIssuedAt().getTime();
+            if (tokenRevocationList.isRevoked(tokenId, principal.getId(), issuedAt)) {
+                throw new UnauthorizedException("Token has been revoked");
+            }
+
+            Date expiration = claims.getExpiration();
+            if (verifiedTokens != null && expiration != null) {
+                verifiedTokens.put(token, new VerifiedToken(principal, tokenId, issuedAt, expiration.getTime()));
+            }
+            return Optional.of(principal);
+
+        } catch (Exception e) {
+            rejections.warn("token_rejected", e.getClass().getSimpleName());
+            throw new UnauthorizedException(e.getMessage());
+        }
+    }
+
+    // Verifies a token presented to /auth/refresh; access tokens are refused here
+    public RefreshTokenClaims parseRefreshToken(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .setSigningKey(jwtConfig.getSigningKey())
-                    .parseClaimsJws(token)
-                    .getBody();
-            return Optional.of(new Principal(Integer.parseInt(claims.getId()), claims.getSubject(), claims.get("isAdmin",Boolean.class), claims.get("isActive",Boolean.class)));
+            Claims claims = parseClaims(token);
+            if (!TokenGenerator.REFRESH_TOKEN.equals(claims.get("typ", String.class))) {
+                throw new UnauthorizedException("Not a refresh token");
+            }
+            int userId = Integer.parseInt(claims.getId());
+            String tokenId = claims.get("tid", String.class);
+            long issuedAt = claims.getIssuedAt() == null ? 0 : claims.getIssuedAt().getTime();
+            if (tokenId == null || tokenRevocationList.isRevoked(tokenId, userId, issuedAt)) {
+                throw new UnauthorizedException("Token has been revoked");
+            }
+            return new RefreshTokenClaims(userId, tokenId, claims.getExpiration());
 
         } catch (Exception e) {
-            e.printStackTrace();
+            rejections.warn("refresh_token_rejected", e.getClass().getSimpleName());
             throw new UnauthorizedException(e.getMessage());
         }
     }
 
+    private Claims parseClaims(String token) {
+        return Jwts.parser()
+                .setSigningKey(jwtConfig.getSigningKey())
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
     public int getDefaultTokenExpiry() {
         return jwtConfig.getExpiration();
     }
+
+    private static class VerifiedToken {
+        private final Principal principal;
+        private final String tokenId;
+        private final long issuedAt;
+        private final long expiresAt;
+
+        private VerifiedToken(Principal principal, String tokenId, long issuedAt, long expiresAt) {
+            this.principal = principal;
+            this.tokenId = tokenId;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class UntilTokenExpires implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, verified.expiresAt - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, verified, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -1,10 +1,15 @@
 package com.revature.services;
 
 import com.revature.dtos.Principal;
+import com.revature.dtos.TokenPair;
 import com.revature.dtos.UpdateUserRequest;
 import com.revature.dtos.UserResponse;
 import com.revature.exceptions.ResourceNotFoundException;
+import com.revature.exceptions.UnauthorizedException;
 import com.revature.models.User;
+import com.revature.security.PasswordVerifier;
+import com.revature.security.RefreshTokenClaims;
+import com.revature.security.TokenRevocationList;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,19 +19,35 @@ import java.util.UUID;
 @Service
 public class AuthService {
 
+    // Stands in for the stored password when the email is unknown, so both cases make the same
+    // check at the same cost and response times don't reveal which emails are registered. It must
+    // use the scheme the stored passwords use: they are still plain (no prefix, compared as is), so
+    // this is too. Rehashing the passwords means switching this to a hash of the same scheme and cost.
+    // Random per instance, so it can't be used to log in.
+    private static final String DUMMY_PASSWORD = UUID.randomUUID().toString();
+
     private final UserService userService;
     private final SendEmailService sendEmailService;
     private final TokenService tokenService;
+    private final PasswordVerifier passwordVerifier;
+    private final TokenRevocationList tokenRevocationList;
 
-    public AuthService(UserService userService, SendEmailService sendEmailService, TokenService tokenService) {
+    public AuthService(UserService userService, SendEmailService sendEmailService, TokenService tokenService,
+                       PasswordVerifier passwordVerifier, TokenRevocationList tokenRevocationList) {
         this.userService = userService;
         this.sendEmailService = sendEmailService;
         this.tokenService = tokenService;
+        this.passwordVerifier = passwordVerifier;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
-    @Transactional
+    // Finds the user by the (unique, indexed) email, then checks the password on the hashing pool.
+    // Not transactional on purpose: no connection is held while the hash is being computed.
     public Optional<User> findByCredentials(String email, String password) {
-        return userService.findByCredentials(email, password);
+        Optional<User> user = userService.findByEmail(email);
+        String storedPassword = user.isPresent() ? user.get().getPassword() : DUMMY_PASSWORD;
+        boolean matches = passwordVerifier.matches(password, storedPassword);
+        return matches ? user : Optional.empty();
     }
 
     public void verifyResetPasswordToken(String token) {
@@ -50,6 +71,36 @@ public class AuthService {
         return token;
     }
 
+    public String generateRefreshToken(User user) {
+        return tokenService.generateRefreshToken(new Principal(user));
+    }
+
+    // Trades a refresh token for a new pair. The account is read fresh, so deactivated users and
+    // changed roles take effect here, and the old refresh token is revoked so each works only once:
+    // the revocation is written before the new pair is issued, and a concurrent refresh of the same
+    // token fails on it with UnauthorizedException.
+    @Transactional
+    public TokenPair refresh(String refreshToken) {
+        RefreshTokenClaims claims = tokenService.extractRefreshTokenDetails(refreshToken);
+        User user = userService.findFreshUserById(claims.getUserId());
+        if (!user.isActive()) throw new UnauthorizedException("User's account is currently inactive, Please login with another account");
+
+        tokenRevocationList.revokeToken(claims.getTokenId(), claims.getUserId(), claims.getExpiresAt());
+        return new TokenPair(generateAuthToken(user), generateRefreshToken(user));
+    }
+
+    // The access token lapses on its own within minutes; the refresh token is what must stop working.
+    // Not transactional, so a token revoked concurrently elsewhere doesn't leave a rollback-only transaction behind
+    public void logout(String refreshToken) {
+        if (refreshToken == null || refreshToken.trim().isEmpty()) return;
+        try {
+            RefreshTokenClaims claims = tokenService.extractRefreshTokenDetails(refreshToken);
+            tokenRevocationList.revokeToken(claims.getTokenId(), claims.getUserId(), claims.getExpiresAt());
+        } catch (UnauthorizedException e) {
+            // Already unusable, nothing to revoke
+        }
+    }
+
     @Transactional
     public void forgotPassword(UpdateUserRequest updateUserRequest) {
 
@@ -0,0 +1,77 @@
+package com.revature.services;
+
+import com.revature.dtos.CheckoutRequest;
+import com.revature.dtos.CheckoutResponse;
+import com.revature.dtos.OrderDetailResponse;
+import com.revature.dtos.OrderResponse;
+import com.revature.dtos.ProductInfo;
+import com.revature.exceptions.UnauthorizedException;
+import com.revature.models.Order;
+import com.revature.models.OrderDetail;
+import com.revature.models.Payment;
+import com.revature.models.Product;
+import com.revature.models.User;
+import com.revature.repositories.OrderDetailRepository;
+import com.revature.repositories.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Places an order and all of its lines in one transaction, replacing the
+// POST /api/order + one POST /api/orderdetail per line sequence.
+@Service
+public class CheckoutService {
+
+    private final OrderRepository orderRepository;
+    private final OrderDetailRepository orderDetailRepository;
+    private final ProductService productService;
+    private final PaymentService paymentService;
+
+    @Autowired
+    public CheckoutService(OrderRepository orderRepository, OrderDetailRepository orderDetailRepository,
+                           ProductService productService, PaymentService paymentService) {
+        this.orderRepository = orderRepository;
+        this.orderDetailRepository = orderDetailRepository;
+        this.productService = productService;
+        this.paymentService = paymentService;
+    }
+
+    @Transactional
+    public CheckoutResponse checkout(CheckoutRequest checkoutRequest, User user) {
+        Payment payment = paymentService.findPaymentById(checkoutRequest.getPaymentId());
+        if (payment.getUserId() == null || payment.getUserId().getId() != user.getId()) {
+            throw new UnauthorizedException("Not authorized to use this payment method.");
+        }
+
+        // Decrement stock first; any short line throws and rolls back before the order is written
+        Map<Integer, Product> products = productService.purchase(checkoutRequest.getLines(), user.getId()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        Order order = new Order();
+        order.setUserId(user);
+        order.setPaymentId(payment);
+        order.setOrderDate(new Date(System.currentTimeMillis()));
+        order.setShipmentAddress(checkoutRequest.getShipmentAddress());
+        orderRepository.save(order);
+
+        List<OrderDetail> details = new ArrayList<>(checkoutRequest.getLines().size());
+        for (ProductInfo line : checkoutRequest.getLines()) {
+            OrderDetail detail = new OrderDetail();
+            detail.setOrderId(order);
+            detail.setProductId(products.get(line.getId()));
+            detail.setQuantity(line.getQuantity());
+            details.add(detail);
+        }
+        orderDetailRepository.saveAll(details);
+
+        return new CheckoutResponse(new OrderResponse(order),
+                details.stream().map(OrderDetailResponse::new).collect(Collectors.toList()));
+    }
+}
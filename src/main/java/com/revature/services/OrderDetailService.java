@@ -1,6 +1,9 @@
 package com.revature.services;
 import com.revature.dtos.OrderDetailRequest;
 import com.revature.dtos.OrderDetailResponse;
+import com.revature.dtos.OrderLineResponse;
+import com.revature.dtos.OrderResponse;
+import com.revature.dtos.OrderSummaryResponse;
 import com.revature.exceptions.ResourceNotFoundException;
 import com.revature.models.Order;
 import com.revature.models.OrderDetail;
@@ -11,9 +14,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class OrderDetailService {
@@ -42,10 +47,13 @@ public class OrderDetailService {
 
     @Transactional
     public List<OrderDetail> findAll(){
-        List<OrderDetail> orderDetails = orderDetailRepository.findAll();
         return orderDetailRepository.findAll();
     }
 
+    public Stream<OrderDetailResponse> streamAll() {
+        return orderDetailRepository.streamAllResponses();
+    }
+
     @Transactional
     public List<OrderDetailResponse> findAllOrderDetailsByOrder(int id){
         Order foundOrder = orderService.findById(id);
@@ -54,6 +62,26 @@ public class OrderDetailService {
         return orderDetailResponses;
     }
 
+    @Transactional(readOnly = true)
+    public List<OrderDetailResponse> findUserOrderDetails(int orderId, User user) {
+        return orderDetailRepository.findOwnedOrderLines(orderId, user.getId()).stream().
+                map(OrderDetailResponse::new).
+                collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public OrderSummaryResponse findOrderSummary(int orderId, User user) {
+        List<OrderDetail> orderDetails = orderDetailRepository.findOwnedOrderLines(orderId, user.getId());
+        if (orderDetails.isEmpty()) {
+            throw new ResourceNotFoundException("No order found.");
+        }
+
+        List<OrderLineResponse> lines = orderDetails.stream().map(OrderLineResponse::new).collect(Collectors.toList());
+        int itemCount = lines.stream().mapToInt(OrderLineResponse::getQuantity).sum();
+        BigDecimal total = lines.stream().map(OrderLineResponse::getLineTotal).reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new OrderSummaryResponse(new OrderResponse(orderDetails.get(0).getOrderId()), lines, itemCount, total);
+    }
+
     @Transactional
     public Optional<OrderDetail> findById(int id) {
         return orderDetailRepository.findById(id);
@@ -2,7 +2,9 @@ package com.revature.services;
 
 import com.revature.dtos.CreateOrderRequest;
 import com.revature.dtos.EditOrderRequest;
+import com.revature.dtos.OrderHistoryPageResponse;
 import com.revature.dtos.OrderResponse;
+import com.revature.exceptions.InvalidUserInputException;
 import com.revature.exceptions.ResourceNotFoundException;
 import com.revature.exceptions.UnauthorizedException;
 import com.revature.models.Order;
@@ -10,19 +12,26 @@ import com.revature.models.Payment;
 import com.revature.models.User;
 import com.revature.repositories.OrderRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Date;
-import java.util.ArrayList;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class OrderService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+    // Bounds used when a history request leaves out one end of the date range
+    private static final Date EARLIEST_ORDER_DATE = Date.valueOf(LocalDate.of(1970, 1, 1));
+    private static final Date LATEST_ORDER_DATE = Date.valueOf(LocalDate.of(9999, 12, 31));
+
     private final OrderRepository orderRepository;
     private final UserService userService;
     private final PaymentService paymentService;
@@ -51,24 +60,49 @@ public class OrderService {
         return orderResponse;
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public List<OrderResponse> findAll() {
-        ArrayList<OrderResponse> orderResponses = new ArrayList<>();
-        List<Order> orders = orderRepository.findAll();
-        for (Order o : orders) {
-            OrderResponse orderResponse = new OrderResponse(o);
-            orderResponses.add(orderResponse);
-        }
-        return orderResponses;
+        return orderRepository.findAllResponses();
     }
 
 
-    @Transactional
+    public Stream<OrderResponse> streamAll() {
+        return orderRepository.streamAllResponses();
+    }
+
+    @Transactional(readOnly = true)
     public List<OrderResponse> findAllUserOrders(User user) {
-        List<OrderResponse> orderResponses = new ArrayList<>();
-        List<Order> orders = orderRepository.findByUserId(user);
-        orderResponses = orders.stream().map(OrderResponse::new).collect(Collectors.toList());
-        return orderResponses;
+        return findAllUserOrders(user, null, null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderResponse> findAllUserOrders(User user, LocalDate from, LocalDate to) {
+        return orderRepository.findHistory(user.getId(), lowerBound(from), upperBound(from, to));
+    }
+
+    @Transactional(readOnly = true)
+    public OrderHistoryPageResponse findUserOrderPage(User user, LocalDate from, LocalDate to, int page, int size) {
+        if (page < 0) {
+            throw new InvalidUserInputException("Page must not be negative");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Slice<OrderResponse> slice = orderRepository.findHistoryPage(user.getId(), lowerBound(from), upperBound(from, to),
+                PageRequest.of(page, pageSize));
+        return new OrderHistoryPageResponse(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+
+    private Date lowerBound(LocalDate from) {
+        return from == null ? EARLIEST_ORDER_DATE : Date.valueOf(from);
+    }
+
+    private Date upperBound(LocalDate from, LocalDate to) {
+        if (to == null) {
+            return LATEST_ORDER_DATE;
+        }
+        if (from != null && from.isAfter(to)) {
+            throw new InvalidUserInputException("from must not be after to");
+        }
+        return Date.valueOf(to);
     }
 
 
@@ -0,0 +1,214 @@
+package com.revature.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.revature.catalog.ProductCsv;
+import com.revature.catalog.ProductFileFormat;
+import com.revature.dtos.ProductImportResponse;
+import com.revature.dtos.ProductImportRow;
+import com.revature.exceptions.InvalidUserInputException;
+import com.revature.models.Product;
+import com.revature.repositories.ProductRepository;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Bulk product load and dump. Import reads the body one line at a time and upserts every
+// batch-size valid rows in their own transaction, flushing and clearing the persistence
+// context between batches, so memory stays flat however large the file is. Batches that
+// have committed stay committed if a later one fails. Export streams rows from a cursor.
+@Service
+public class ProductImportService {
+
+    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final ObjectReader rowReader;
+    private final ObjectWriter productWriter;
+    private final int batchSize;
+
+    public ProductImportService(ProductRepository productRepository, ProductService productService, EntityManager entityManager,
+                                PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                @Value("${product.import.batch-size:500}") int batchSize) {
+        this.productRepository = productRepository;
+        this.productService = productService;
+        this.entityManager = entityManager;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.rowReader = objectMapper.readerFor(ProductImportRow.class);
+        this.productWriter = objectMapper.writerFor(Product.class);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public ProductImportResponse importProducts(InputStream body, ProductFileFormat format) throws IOException {
+        ProductImportResponse result = new ProductImportResponse();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        Function<String, ProductImportRow> parser = null;
+        List<NumberedRow> batch = new ArrayList<>(batchSize);
+        long lineNumber = 0;
+        String line;
+
+        if (format == ProductFileFormat.NDJSON) {
+            parser = this::parseJson;
+        }
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            if (parser == null) {
+                parser = ProductCsv.fromHeader(line)::parse;
+                continue;
+            }
+            try {
+                ProductImportRow row = parser.apply(line);
+                validate(row);
+                batch.add(new NumberedRow(lineNumber, row));
+            } catch (InvalidUserInputException e) {
+                result.reject(lineNumber, e.getMessage());
+            }
+            if (batch.size() == batchSize) {
+                upsert(batch, result);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            upsert(batch, result);
+        }
+        return result;
+    }
+
+    public void exportProducts(OutputStream out, ProductFileFormat format) {
+        readTransaction.execute(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try (Stream<Product> products = productRepository.streamAll()) {
+                if (format == ProductFileFormat.CSV) {
+                    writer.write(ProductCsv.HEADER);
+                    writer.write('\n');
+                }
+                products.forEach(product -> {
+                    writeLine(writer, product, format);
+                    entityManager.detach(product);
+                });
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+    }
+
+    private void upsert(List<NumberedRow> batch, ProductImportResponse result) {
+        List<Product> written = writeTransaction.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+
+            List<Integer> ids = batch.stream().map(r -> r.row.getId()).filter(Objects::nonNull).collect(Collectors.toList());
+            Map<Integer, Product> existing = productRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+            List<Product> created = new ArrayList<>();
+            List<Product> touched = new ArrayList<>(batch.size());
+            for (NumberedRow numbered : batch) {
+                ProductImportRow row = numbered.row;
+                Product product;
+                if (row.getId() == null) {
+                    product = new Product();
+                    created.add(product);
+                } else {
+                    product = existing.get(row.getId());
+                    if (product == null) {
+                        result.reject(numbered.line, "Unknown product id: " + row.getId());
+                        continue;
+                    }
+                }
+                apply(row, product);
+                touched.add(product);
+            }
+
+            // Existing rows are managed, so the flush writes them as batched updates
+            productRepository.saveAll(created);
+            entityManager.flush();
+            entityManager.clear();
+
+            result.setCreated(result.getCreated() + created.size());
+            result.setUpdated(result.getUpdated() + touched.size() - created.size());
+            return touched;
+        });
+        productService.refreshAll(written);
+    }
+
+    private ProductImportRow parseJson(String line) {
+        try {
+            return rowReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new InvalidUserInputException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private void validate(ProductImportRow row) {
+        if (row.getName() == null || row.getName().trim().isEmpty()) {
+            throw new InvalidUserInputException("name is required");
+        }
+        if (row.getPrice() == null || row.getPrice().isNaN() || row.getPrice().isInfinite() || row.getPrice() < 0) {
+            throw new InvalidUserInputException("price must be a non-negative number");
+        }
+        if (row.getQuantity() == null || row.getQuantity() < 0) {
+            throw new InvalidUserInputException("quantity must be a non-negative integer");
+        }
+    }
+
+    private void apply(ProductImportRow row, Product product) {
+        product.setName(row.getName().trim());
+        product.setDescription(row.getDescription());
+        product.setImage(row.getImage());
+        product.setPrice(row.getPrice());
+        product.setQuantity(row.getQuantity());
+        product.setActive(row.getActive() == null || row.getActive());
+    }
+
+    private void writeLine(Writer writer, Product product, ProductFileFormat format) {
+        try {
+            writer.write(format == ProductFileFormat.CSV ? ProductCsv.format(product) : productWriter.writeValueAsString(product));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class NumberedRow {
+        private final long line;
+        private final ProductImportRow row;
+
+        private NumberedRow(long line, ProductImportRow row) {
+            this.line = line;
+            this.row = row;
+        }
+    }
+}
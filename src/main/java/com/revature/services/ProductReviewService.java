@@ -1,40 +1,82 @@
 package com.revature.services;
 
+import com.revature.cache.CatalogVersions;
+import com.revature.cache.ProductRatingAggregates;
+import com.revature.dtos.ProductRatingResponse;
+import com.revature.dtos.ProductReviewPageResponse;
+import com.revature.exceptions.InvalidUserInputException;
 import com.revature.models.User;
 import com.revature.dtos.ProductReviewRequest;
 import com.revature.dtos.ProductReviewResponse;
 import com.revature.models.ProductReview;
 import com.revature.repositories.ProductReviewRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import javax.annotation.PostConstruct;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ProductReviewService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final ProductReviewRepository productReviewRepository;
     private final UserService userService;
     private final ProductService productService;
+    private final ProductRatingAggregates ratingAggregates;
+    private final CatalogVersions catalogVersions;
 
     @Autowired
-    public ProductReviewService(ProductReviewRepository productReviewRepository, UserService userService, ProductService productService) {
+    public ProductReviewService(ProductReviewRepository productReviewRepository, UserService userService, ProductService productService,
+                                ProductRatingAggregates ratingAggregates, CatalogVersions catalogVersions) {
         this.productReviewRepository = productReviewRepository;
         this.userService = userService;
         this.productService = productService;
+        this.ratingAggregates = ratingAggregates;
+        this.catalogVersions = catalogVersions;
+    }
+
+    @PostConstruct
+    public void loadRatingAggregates() {
+        ratingAggregates.rebuild(productReviewRepository.countRatingsByProduct());
+    }
+
+    public String reviewsTag() {
+        return catalogVersions.allReviewsTag();
+    }
+
+    public long reviewsModifiedAt() {
+        return catalogVersions.allReviewsModifiedAt();
+    }
+
+    public String reviewsTag(int productId) {
+        return catalogVersions.reviewsTag(productId);
+    }
+
+    public long reviewsModifiedAt(int productId) {
+        return catalogVersions.reviewsModifiedAt(productId);
     }
 
     public List<ProductReviewResponse> findAll(){
-        return productReviewRepository.findAll().
+        return productReviewRepository.findAllWithAuthors().
                                         stream().
                                         map(ProductReviewResponse::new).
                                         collect(Collectors.toList());
     }
 
+    public Stream<ProductReviewResponse> streamAll() {
+        return productReviewRepository.streamAllWithAuthors().map(ProductReviewResponse::new);
+    }
+
     public Optional<ProductReviewResponse> findById(int id) {
         return productReviewRepository.findById(id).
                                        map(ProductReviewResponse::new);
@@ -47,19 +89,50 @@ public class ProductReviewService {
                                         collect(Collectors.toList());
     }
 
-    public int findProductAverageScore(int id) {
-        ArrayList<Integer> list = new ArrayList<>(productReviewRepository.findProductAverageScore(id));
-        double sum=0;
-        for(int i: list){
-            sum+=i;
+    public ProductReviewPageResponse findPage(int page, int size, String sort) {
+        Pageable pageable = pageRequest(page, size, sort);
+        return toPageResponse(productReviewRepository.findPageWithAuthors(pageable), sort);
+    }
+
+    public ProductReviewPageResponse findPageByProductId(int id, int page, int size, String sort) {
+        Pageable pageable = pageRequest(page, size, sort);
+        return toPageResponse(productReviewRepository.findPageByProductId(id, pageable), sort);
+    }
+
+    private Pageable pageRequest(int page, int size, String sort) {
+        if (page < 0) {
+            throw new InvalidUserInputException("Page must not be negative");
         }
-        if(list.size()!=0) {
-            return (int) sum / list.size();
-        }else {
-            return 0;
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // id breaks ties so rows with the same rating keep a stable order across pages
+        switch (sort.toLowerCase()) {
+            case "newest":
+                return PageRequest.of(page, pageSize, Sort.by(Sort.Direction.DESC, "id"));
+            case "highest":
+                return PageRequest.of(page, pageSize, Sort.by(Sort.Order.desc("rating"), Sort.Order.desc("id")));
+            case "lowest":
+                return PageRequest.of(page, pageSize, Sort.by(Sort.Order.asc("rating"), Sort.Order.desc("id")));
+            default:
+                throw new InvalidUserInputException("Unsupported sort: " + sort);
         }
     }
 
+    private ProductReviewPageResponse toPageResponse(Slice<ProductReview> slice, String sort) {
+        List<ProductReviewResponse> reviews = slice.getContent().
+                                                stream().
+                                                map(ProductReviewResponse::new).
+                                                collect(Collectors.toList());
+        return new ProductReviewPageResponse(reviews, sort.toLowerCase(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+
+    public int findProductAverageScore(int id) {
+        return ratingAggregates.average(id);
+    }
+
+    public ProductRatingResponse findProductRatingStats(int id) {
+        return ratingAggregates.stats(id);
+    }
+
     public List<ProductReviewResponse> findProductByScore(int id,int rating) {
         if(rating>5||rating<1){return null;}
         return productReviewRepository.findAllByProductScore(id,rating).
@@ -69,12 +142,7 @@ public class ProductReviewService {
     }
 
     public boolean canPost(int post_id,int user_id) {
-        List<ProductReviewResponse> list= productReviewRepository.canPost(post_id,user_id).stream().
-                                            map(ProductReviewResponse::new).
-                                            collect(Collectors.toList());
-
-        if(list.size()==0){return true;}
-        return false;
+        return productReviewRepository.canPost(post_id,user_id).isEmpty();
     }
 
 
@@ -85,15 +153,33 @@ public class ProductReviewService {
                 return null;
             }
 
-            return productReviewRepository.save(new ProductReview(
+            // A request carrying an existing id replaces that review; read its old rating before the merge overwrites it
+            int[] previous = productReview.getId() == 0 ? null : productReviewRepository.findById(productReview.getId())
+                    .map(r -> new int[]{r.getPostId().getId(), r.getRating()}).orElse(null);
+            ProductReview saved = productReviewRepository.save(new ProductReview(
                     productReview,productService.findById(productReview.getPostId()).get(),user));
 
+            if (previous != null) {
+                ratingAggregates.remove(previous[0], previous[1]);
+                catalogVersions.reviewsChanged(previous[0]);
+            }
+            ratingAggregates.record(productReview.getPostId(), productReview.getRating());
+            catalogVersions.reviewsChanged(productReview.getPostId());
+            return saved;
+
         }catch (NoSuchElementException e){
 
             return null;
         }
     }
 
-    public void deleteById(int id){productReviewRepository.deleteById(id);}
+    public void deleteById(int id){
+        Optional<ProductReview> existing = productReviewRepository.findById(id);
+        productReviewRepository.deleteById(id);
+        existing.ifPresent(review -> {
+            ratingAggregates.remove(review.getPostId().getId(), review.getRating());
+            catalogVersions.reviewsChanged(review.getPostId().getId());
+        });
+    }
 
 }
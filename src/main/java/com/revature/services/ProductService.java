@@ -1,41 +1,187 @@
 package com.revature.services;
 
+import com.revature.cache.CatalogVersions;
+import com.revature.cache.ProductCache;
 import com.revature.dtos.ProductInfo;
+import com.revature.dtos.ProductPageResponse;
+import com.revature.dtos.PurchaseLineResult;
+import com.revature.exceptions.InsufficientStockException;
+import com.revature.exceptions.InvalidUserInputException;
+import com.revature.inventory.ReservationBook;
 import com.revature.models.Product;
 import com.revature.repositories.ProductRepository;
+import com.revature.search.ProductSearchIndex;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 @Service
 public class ProductService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int DEFAULT_SEARCH_LIMIT = 50;
+
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final ProductSearchIndex searchIndex;
+    private final CatalogVersions catalogVersions;
+    private final ReservationService reservationService;
 
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, ProductCache productCache, ProductSearchIndex searchIndex,
+                          CatalogVersions catalogVersions, ReservationService reservationService) {
         this.productRepository = productRepository;
+        this.productCache = productCache;
+        this.searchIndex = searchIndex;
+        this.catalogVersions = catalogVersions;
+        this.reservationService = reservationService;
+    }
+
+    @PostConstruct
+    public void buildSearchIndex() {
+        searchIndex.rebuild(productRepository.findAllActive());
+    }
+
+    public String catalogTag() {
+        return catalogVersions.productsTag();
+    }
+
+    public long catalogModifiedAt() {
+        return catalogVersions.productsModifiedAt();
     }
 
     public List<Product> findAll() {
-        return productRepository.findAllActive();
+        return productCache.getAll(productRepository::findAllActive);
+    }
+
+    // Only valid inside a transaction; the caller must close the stream
+    public Stream<Product> streamAll() {
+        return productRepository.streamAllActive();
+    }
+
+    public ProductPageResponse findPage(Integer after, int limit, String sort) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Ask for one extra row so we know whether another page exists without a count query
+        Pageable window = PageRequest.of(0, pageSize + 1);
+        List<Product> products;
+
+        switch (sort.toLowerCase()) {
+            case "id":
+                products = productRepository.findActivePageAfterId(after == null ? 0 : after, window);
+                break;
+            case "price":
+                products = after == null
+                        ? productRepository.findActivePageByPrice(window)
+                        : productRepository.findActivePageAfterPrice(findCursor(after).getPrice(), after, window);
+                break;
+            case "name":
+                products = after == null
+                        ? productRepository.findActivePageByName(window)
+                        : productRepository.findActivePageAfterName(findCursor(after).getName(), after, window);
+                break;
+            default:
+                throw new InvalidUserInputException("Unsupported sort: " + sort);
+        }
+
+        boolean hasMore = products.size() > pageSize;
+        if (hasMore) {
+            products = products.subList(0, pageSize);
+        }
+        Integer nextCursor = hasMore ? products.get(products.size() - 1).getId() : null;
+
+        return new ProductPageResponse(products, sort.toLowerCase(), pageSize, hasMore, nextCursor);
     }
 
     public Optional<Product> findById(int id) {
-        return productRepository.findActiveById(id);
+        return productCache.get(id, productRepository::findActiveById);
     }
 
     public List<Product> findByKeyword(String keyword){
-        return productRepository.findByKeyword("%" + keyword + "%");
+        return search(keyword, DEFAULT_SEARCH_LIMIT);
+    }
+
+    public List<Product> search(String keyword, int limit) {
+        return searchIndex.search(keyword, Math.min(limit, MAX_PAGE_SIZE));
     }
 
     public Product save(Product product) {
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        refresh(saved);
+        return saved;
     }
 
     public List<Product> saveAll(List<Product> productList, List<ProductInfo> metadata) {
-        return productRepository.saveAll(productList);
+        List<Product> saved = productRepository.saveAll(productList);
+        saved.forEach(this::refresh);
+        return saved;
+    }
+
+    // For writes made outside save/saveAll, such as a bulk import, once they have committed
+    public void refreshAll(List<Product> products) {
+        products.forEach(this::refresh);
+    }
+
+    // The buyer's holds are claimed in memory first, so a cart that can't be covered is refused
+    // without touching the product table, and the claimed units stay held until the transaction
+    // ends. Each line is then a single conditional UPDATE, so there is no read-modify-write window
+    // between concurrent checkouts, including ones on other instances. The cart is bought as a
+    // whole: if any line fails, the exception rolls back the lines that did go through.
+    @Transactional
+    public List<Product> purchase(List<ProductInfo> metadata, int userId) {
+        ReservationBook.Claim claim = reservationService.claim(userId, metadata);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                List<Product> purchased = decrementStock(metadata);
+                reservationService.complete(claim);
+                return purchased;
+            } catch (RuntimeException e) {
+                reservationService.abort(claim);
+                throw e;
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    reservationService.complete(claim);
+                } else {
+                    reservationService.abort(claim);
+                }
+            }
+        });
+        return decrementStock(metadata);
+    }
+
+    private List<Product> decrementStock(List<ProductInfo> metadata) {
+        List<PurchaseLineResult> results = new ArrayList<>(metadata.size());
+        List<Integer> productIds = new ArrayList<>(metadata.size());
+        boolean allSucceeded = true;
+
+        for (ProductInfo line : metadata) {
+            boolean success = line.getQuantity() > 0
+                    && productRepository.decrementStock(line.getId(), line.getQuantity()) == 1;
+            results.add(new PurchaseLineResult(line.getId(), line.getQuantity(), success));
+            productIds.add(line.getId());
+            allSucceeded &= success;
+        }
+
+        if (!allSucceeded) {
+            throw new InsufficientStockException(results);
+        }
+
+        List<Product> purchased = productRepository.findAllById(productIds);
+        refreshAfterCommit(purchased);
+        return purchased;
     }
 
     public void delete(int id) {
@@ -47,4 +193,31 @@ public class ProductService {
             save(pr);
         }
     }
+
+    // The cursor row may have been deactivated since the previous page was served,
+    // so look it up regardless of status; we only need its sort key.
+    private Product findCursor(int after) {
+        return productRepository.findById(after).orElseThrow(() -> new InvalidUserInputException("Unknown cursor: " + after));
+    }
+
+    private void refresh(Product product) {
+        productCache.invalidate(product.getId());
+        searchIndex.index(product);
+        reservationService.stockChanged(product);
+        catalogVersions.productsChanged();
+    }
+
+    // Refreshing before the purchase commits would let a concurrent read cache the old quantity again
+    private void refreshAfterCommit(List<Product> products) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            products.forEach(this::refresh);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                products.forEach(ProductService.this::refresh);
+            }
+        });
+    }
 }
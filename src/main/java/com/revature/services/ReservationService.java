@@ -0,0 +1,100 @@
+package com.revature.services;
+
+import com.revature.dtos.AvailabilityResponse;
+import com.revature.dtos.ProductInfo;
+import com.revature.dtos.ReservationResponse;
+import com.revature.exceptions.InvalidUserInputException;
+import com.revature.inventory.Hold;
+import com.revature.inventory.ReservationBook;
+import com.revature.models.Product;
+import com.revature.repositories.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cart holds: an item put in the cart is set aside for inventory.hold.ttl-seconds, and
+// availability is what nobody holds. Both are answered from ReservationBook; the product
+// table is only read the first time a product is seen and when its cached count goes stale.
+@Service
+public class ReservationService {
+
+    public static final int MAX_AVAILABILITY_IDS = 100;
+
+    private final ReservationBook reservationBook;
+    private final ProductRepository productRepository;
+    private final long holdTtlMillis;
+
+    public ReservationService(ReservationBook reservationBook, ProductRepository productRepository,
+                              @Value("${inventory.hold.ttl-seconds:900}") long holdTtlSeconds) {
+        this.reservationBook = reservationBook;
+        this.productRepository = productRepository;
+        this.holdTtlMillis = TimeUnit.SECONDS.toMillis(holdTtlSeconds);
+    }
+
+    // Sets the caller's hold on a product to the given quantity; 0 releases it
+    public ReservationResponse reserve(int userId, ProductInfo line) {
+        if (line.getQuantity() < 0) {
+            throw new InvalidUserInputException("Quantity cannot be negative");
+        }
+        Hold hold = reservationBook.hold(userId, line.getId(), line.getQuantity(), holdTtlMillis, this::onHand);
+        int available = reservationBook.available(line.getId(), this::onHand);
+        if (hold == null) {
+            return new ReservationResponse(line.getId(), 0, null, available);
+        }
+        return new ReservationResponse(line.getId(), hold.getQuantity(), new Date(hold.getExpiresAt()), available);
+    }
+
+    public void release(int userId, int productId) {
+        reservationBook.release(userId, productId);
+    }
+
+    public List<ReservationResponse> findAllByUser(int userId) {
+        List<Hold> holds = reservationBook.holdsOf(userId);
+        List<ReservationResponse> responses = new ArrayList<>(holds.size());
+        for (Hold hold : holds) {
+            responses.add(new ReservationResponse(hold.getProductId(), hold.getQuantity(), new Date(hold.getExpiresAt()),
+                    reservationBook.available(hold.getProductId(), this::onHand)));
+        }
+        return responses;
+    }
+
+    public List<AvailabilityResponse> findAvailability(List<Integer> productIds) {
+        if (productIds.size() > MAX_AVAILABILITY_IDS) {
+            throw new InvalidUserInputException("At most " + MAX_AVAILABILITY_IDS + " products per request");
+        }
+        List<AvailabilityResponse> responses = new ArrayList<>(productIds.size());
+        for (Integer productId : productIds) {
+            responses.add(new AvailabilityResponse(productId, reservationBook.available(productId, this::onHand)));
+        }
+        return responses;
+    }
+
+    // Purchase steps, driven by ProductService.purchase
+    public ReservationBook.Claim claim(int userId, List<ProductInfo> lines) {
+        return reservationBook.claim(userId, lines, this::onHand);
+    }
+
+    public void complete(ReservationBook.Claim claim) {
+        reservationBook.complete(claim);
+    }
+
+    public void abort(ReservationBook.Claim claim) {
+        reservationBook.abort(claim);
+    }
+
+    public void stockChanged(Product product) {
+        reservationBook.stockChanged(product.getId(), product.isActive() ? product.getQuantity() : 0);
+    }
+
+    // Deactivated and unknown products have nothing to sell
+    private int onHand(int productId) {
+        return productRepository.findById(productId)
+                .filter(Product::isActive)
+                .map(Product::getQuantity)
+                .orElse(0);
+    }
+}
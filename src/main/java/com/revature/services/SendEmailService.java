@@ -1,18 +1,22 @@
 package com.revature.services;
 
+import com.revature.mail.EmailQueue;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class SendEmailService {
 
-    private JavaMailSender emailSender;
+    private final EmailQueue emailQueue;
 
-    public SendEmailService(JavaMailSender emailSender) {
-        this.emailSender = emailSender;
+    public SendEmailService(EmailQueue emailQueue) {
+        this.emailQueue = emailQueue;
     }
 
+    // Returns immediately; EmailQueue delivers in the background. Inside a transaction the message is
+    // only queued once it commits, so a rolled back change never mails out a token that doesn't exist.
     public void sendEmail(String to, String subject, String text) {
         SimpleMailMessage mailMessage = new SimpleMailMessage();
 
@@ -21,6 +25,15 @@ public class SendEmailService {
         mailMessage.setSubject(subject);
         mailMessage.setText(text);
 
-        emailSender.send(mailMessage);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            emailQueue.enqueue(mailMessage);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                emailQueue.enqueue(mailMessage);
+            }
+        });
     }
 }
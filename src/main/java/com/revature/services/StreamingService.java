@@ -0,0 +1,80 @@
+package com.revature.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.revature.exceptions.InvalidUserInputException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Writes a repository Stream straight to the response as a JSON array or as NDJSON, one row at a time,
+// so list endpoints can serve whole tables with constant heap. The query runs in a read-only transaction
+// on the async response thread, and the persistence context is cleared every CLEAR_INTERVAL rows.
+@Service
+public class StreamingService {
+
+    public static final String JSON = "json";
+    public static final String NDJSON = "ndjson";
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
+    private static final int CLEAR_INTERVAL = 500;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readTransaction;
+    private final ObjectWriter writer;
+
+    public StreamingService(EntityManager entityManager, PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.entityManager = entityManager;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    // The supplier is only invoked on the response thread, inside the read-only transaction
+    public <T> ResponseEntity<StreamingResponseBody> stream(String format, Supplier<Stream<T>> query) {
+        boolean ndjson;
+        if (NDJSON.equalsIgnoreCase(format)) {
+            ndjson = true;
+        } else if (JSON.equalsIgnoreCase(format)) {
+            ndjson = false;
+        } else {
+            throw new InvalidUserInputException("Unsupported stream format: " + format);
+        }
+
+        StreamingResponseBody body = out -> readTransaction.execute(status -> {
+            try (Stream<T> rows = query.get();
+                 SequenceWriter sequence = ndjson ? writer.withRootValueSeparator("\n").writeValues(out) : writer.writeValuesAsArray(out)) {
+                Iterator<T> iterator = rows.iterator();
+                int written = 0;
+                while (iterator.hasNext()) {
+                    sequence.write(iterator.next());
+                    if (++written % CLEAR_INTERVAL == 0) {
+                        entityManager.clear();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.parseMediaType(NDJSON_MEDIA_TYPE) : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+}
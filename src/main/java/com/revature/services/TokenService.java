@@ -4,14 +4,21 @@ import com.revature.dtos.Principal;
 import com.revature.exceptions.InvalidTokenException;
 import com.revature.exceptions.InvalidUserInputException;
 import com.revature.exceptions.UnauthorizedException;
+import com.revature.security.RefreshTokenClaims;
 import com.revature.security.TokenGenerator;
 import com.revature.security.TokenValidator;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.function.Predicate;
 
 @Service
 public class TokenService {
+
+    // Request attribute holding the principal already resolved for this request
+    private static final String RESOLVED_PRINCIPAL = TokenService.class.getName() + ".RESOLVED_PRINCIPAL";
+
     private final TokenValidator tokenValidator;
     private final TokenGenerator tokenGenerator;
 
@@ -25,14 +32,39 @@ public class TokenService {
         return tokenGenerator.createToken(subject);
     }
 
+    public String generateRefreshToken(Principal subject) {
+        if (!isPrincipalValid(subject)) throw new InvalidUserInputException("Provided with invalid principal object");
+        return tokenGenerator.createRefreshToken(subject);
+    }
+
+    public RefreshTokenClaims extractRefreshTokenDetails(String token) {
+        if (token == null || token.trim().equals("")) throw new UnauthorizedException("No refresh token found on request");
+        return tokenValidator.parseRefreshToken(token);
+    }
+
     public boolean isTokenValid(String token) {
         if (token == null || token.trim().equals("")) return false;
         return tokenValidator.parseToken(token).isPresent();
     }
 
+    // The aspect and the controller both ask for the principal of the same request,
+    // so it is remembered on the request and the token is only verified once.
     public Principal extractTokenDetails(String token) {
         if (token == null || token.trim().equals("")) throw new UnauthorizedException("No authentication token found on request");
-        return tokenValidator.parseToken(token).orElseThrow(InvalidTokenException::new);
+
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            Object resolved = request.getAttribute(RESOLVED_PRINCIPAL, RequestAttributes.SCOPE_REQUEST);
+            if (resolved instanceof ResolvedPrincipal && ((ResolvedPrincipal) resolved).token.equals(token)) {
+                return ((ResolvedPrincipal) resolved).principal;
+            }
+        }
+
+        Principal principal = tokenValidator.parseToken(token).orElseThrow(InvalidTokenException::new);
+        if (request != null) {
+            request.setAttribute(RESOLVED_PRINCIPAL, new ResolvedPrincipal(token, principal), RequestAttributes.SCOPE_REQUEST);
+        }
+        return principal;
     }
 
     public int getDefaultTokenExpiry() {
@@ -43,4 +75,14 @@ public class TokenService {
         Predicate<String> notNullOrEmpty = (str) -> str != null && !str.trim().equals("");
         return (subject != null && notNullOrEmpty.test(Integer.toString(subject.getId())) && notNullOrEmpty.test(subject.getEmail()));
     }
+
+    private static class ResolvedPrincipal {
+        private final String token;
+        private final Principal principal;
+
+        private ResolvedPrincipal(String token, Principal principal) {
+            this.token = token;
+            this.principal = principal;
+        }
+    }
 }
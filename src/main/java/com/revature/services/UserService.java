@@ -1,5 +1,7 @@
 package com.revature.services;
 
+import com.revature.cache.CatalogVersions;
+import com.revature.cache.UserCache;
 import com.revature.dtos.RegisterRequest;
 import com.revature.dtos.UpdateUserRequest;
 import com.revature.dtos.UserResponse;
@@ -8,8 +10,11 @@ import com.revature.exceptions.ResourceNotFoundException;
 import com.revature.exceptions.ResourcePersistanceException;
 import com.revature.models.User;
 import com.revature.repositories.UserRepository;
+import com.revature.security.TokenRevocationList;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -18,14 +23,16 @@ import java.util.function.Predicate;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final CatalogVersions catalogVersions;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UserCache userCache, TokenRevocationList tokenRevocationList,
+                       CatalogVersions catalogVersions) {
         this.userRepository = userRepository;
-    }
-
-    @Transactional
-    public Optional<User> findByCredentials(String email, String password) {
-        return userRepository.findByEmailAndPassword(email, password);
+        this.userCache = userCache;
+        this.tokenRevocationList = tokenRevocationList;
+        this.catalogVersions = catalogVersions;
     }
 
     @Transactional
@@ -44,6 +51,7 @@ public class UserService {
 
         user.setResetPasswordToken(resetPasswordToken);
         userRepository.save(user);
+        evictAfterCommit(user.getId());
     }
 
     @Transactional
@@ -52,10 +60,14 @@ public class UserService {
         user.setResetPasswordToken(null);
 
         userRepository.save(user);
+        // Sessions opened with the old password must not outlive it
+        tokenRevocationList.revokeUser(user.getId());
+        evictAfterCommit(user.getId());
     }
 
     @Transactional
     public User save(User user) {
+        evictAfterCommit(user.getId());
         return userRepository.save(user);
     }
 
@@ -84,9 +96,13 @@ public class UserService {
         if(notNullOrEmpty.test(updateUserRequest.getLastName()))
             foundUser.setLastName(updateUserRequest.getLastName());
 
-        if(notNullOrEmpty.test(updateUserRequest.getPassword()))
+        if(notNullOrEmpty.test(updateUserRequest.getPassword()) && !updateUserRequest.getPassword().equals(foundUser.getPassword())) {
             foundUser.setPassword(updateUserRequest.getPassword());
+            // As in resetPassword: sessions opened with the old password must not outlive it
+            tokenRevocationList.revokeUser(foundUser.getId());
+        }
 
+        profileChangedAfterCommit(foundUser.getId());
 
         }
 
@@ -94,12 +110,16 @@ public class UserService {
     public void deactivate(User currentUser) throws InvalidUserInputException{
         User foundUser = userRepository.findById(currentUser.getId()).orElseThrow(ResourceNotFoundException::new);
         userRepository.deactivateUser(foundUser.getId());
+        tokenRevocationList.revokeUser(foundUser.getId());
+        profileChangedAfterCommit(foundUser.getId());
     }
 
     @Transactional
     public void deactivateUser(User user) throws InvalidUserInputException{
         User foundUser = userRepository.findById(user.getId()).orElseThrow(ResourceNotFoundException::new);
         userRepository.deactivateUser(foundUser.getId());
+        tokenRevocationList.revokeUser(foundUser.getId());
+        profileChangedAfterCommit(foundUser.getId());
     }
 
     @Transactional(readOnly = true)
@@ -111,8 +131,39 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public User findUserById(int id) {
-        User user = userRepository.findById(id).orElseThrow(ResourceNotFoundException::new);
-        return user;
+        return userCache.get(id, userId -> userRepository.findById(userId).orElseThrow(ResourceNotFoundException::new));
+    }
+
+    // Skips the cache, for decisions that must see a change committed on another instance
+    @Transactional(readOnly = true)
+    public User findFreshUserById(int id) {
+        return userRepository.findById(id).orElseThrow(ResourceNotFoundException::new);
+    }
+
+    // Evicting before the change commits would let a concurrent read cache the old row again
+    private void evictAfterCommit(int userId) {
+        afterCommit(() -> userCache.invalidate(userId));
+    }
+
+    // Review listings show the author's profile, so their ETag / Last-Modified must move with it
+    private void profileChangedAfterCommit(int userId) {
+        afterCommit(() -> {
+            userCache.invalidate(userId);
+            catalogVersions.reviewAuthorsChanged();
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
 
@@ -0,0 +1,55 @@
+package com.revature.util;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Logs at most a fixed number of warnings per time window and counts the rest, so a client
+// (or bot) sending garbage on every request cannot flood the logs. The first line logged in a
+// new window reports how many were suppressed in the previous one.
+// Lines are key=value pairs so they can be grepped and parsed by the log pipeline.
+public class RateLimitedLogger {
+
+    private final Logger log;
+    private final int permitsPerWindow;
+    private final long windowNanos;
+
+    private final AtomicLong windowStart;
+    private final AtomicLong usedPermits = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public RateLimitedLogger(Logger log, int permitsPerWindow, long window, TimeUnit unit) {
+        this.log = log;
+        this.permitsPerWindow = permitsPerWindow;
+        this.windowNanos = unit.toNanos(window);
+        this.windowStart = new AtomicLong(System.nanoTime());
+    }
+
+    public void warn(String event, String detail) {
+        warn(event, detail, System.nanoTime());
+    }
+
+    // Clock passed in so tests can cross window boundaries without sleeping
+    void warn(String event, String detail, long now) {
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            usedPermits.set(0);
+        }
+
+        if (usedPermits.incrementAndGet() > permitsPerWindow) {
+            suppressed.incrementAndGet();
+            return;
+        }
+        log.warn("event={} detail=\"{}\" suppressed={}", event, detail, suppressed.getAndSet(0));
+    }
+
+    // Number of lines dropped since the last one that was written
+    public long getSuppressed() {
+        return suppressed.get();
+    }
+}
@@ -0,0 +1,8 @@
+-- H2 counterpart of postgresql/001 and 002. A schema generated by Hibernate already has these
+-- sequences; this is for databases created before the switch away from identity columns.
+-- Restart values must clear the highest existing id in each table (the seed data stays below 1000100).
+create sequence if not exists order_details_id_seq start with 1000100 increment by 50;
+create sequence if not exists orders_id_seq start with 1000100 increment by 50;
+create sequence if not exists product_id_seq start with 1000100 increment by 50;
+create sequence if not exists product_review_id_seq start with 1000100 increment by 50;
+create sequence if not exists users_id_seq start with 1000100 increment by 50;
@@ -0,0 +1,4 @@
+-- H2 counterpart of postgresql/003.
+update users set reset_password_token = null where reset_password_token = 'token';
+create unique index if not exists idx_users_email on users (email);
+create unique index if not exists idx_users_reset_password_token on users (reset_password_token);
@@ -0,0 +1,16 @@
+-- H2 counterpart of postgresql/004.
+create sequence if not exists token_revocations_id_seq start with 1 increment by 50;
+
+create table if not exists token_revocations (
+    id integer primary key,
+    token_id varchar(255),
+    user_id integer not null,
+    revoked_at timestamp,
+    expires_at timestamp
+);
+
+-- A token can be revoked only once; this is what makes a refresh token single-use across instances.
+-- Per-user rows (token_id null) are not affected
+create unique index if not exists idx_token_revocations_token_id on token_revocations (token_id);
+create index if not exists idx_token_revocations_revoked_at on token_revocations (revoked_at);
+create index if not exists idx_token_revocations_expires_at on token_revocations (expires_at);
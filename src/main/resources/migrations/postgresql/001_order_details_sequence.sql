@@ -0,0 +1,5 @@
+-- OrderDetail ids now come from a pooled sequence (allocationSize = 50) instead of the serial column default.
+-- Reuse the serial's sequence, step it by the allocation size and move it past the existing rows.
+create sequence if not exists order_details_id_seq;
+alter sequence order_details_id_seq increment by 50;
+select setval('order_details_id_seq', (select coalesce(max(id), 0) + 50 from order_details));
@@ -0,0 +1,17 @@
+-- Orders, products, reviews and users now take ids from pooled sequences (allocationSize = 50) as well.
+-- Each reuses its serial column's sequence, stepped by the allocation size and moved past the existing rows.
+create sequence if not exists orders_id_seq;
+alter sequence orders_id_seq increment by 50;
+select setval('orders_id_seq', (select coalesce(max(id), 0) + 50 from orders));
+
+create sequence if not exists product_id_seq;
+alter sequence product_id_seq increment by 50;
+select setval('product_id_seq', (select coalesce(max(id), 0) + 50 from product));
+
+create sequence if not exists product_review_id_seq;
+alter sequence product_review_id_seq increment by 50;
+select setval('product_review_id_seq', (select coalesce(max(id), 0) + 50 from product_review));
+
+create sequence if not exists users_id_seq;
+alter sequence users_id_seq increment by 50;
+select setval('users_id_seq', (select coalesce(max(id), 0) + 50 from users));
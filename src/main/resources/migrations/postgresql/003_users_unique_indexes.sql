@@ -0,0 +1,6 @@
+-- Login looks users up by email and a password reset by its token, so both need an index, and
+-- both identify a single user so the index is unique. Older seed data gave every user the same
+-- placeholder reset token; clear it first or the unique index cannot be built.
+update users set reset_password_token = null where reset_password_token = 'token';
+create unique index if not exists idx_users_email on users (email);
+create unique index if not exists idx_users_reset_password_token on users (reset_password_token);
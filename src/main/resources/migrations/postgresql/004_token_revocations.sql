@@ -0,0 +1,17 @@
+-- Revoked tokens (token_id set) and per-user revocation cut-offs (token_id null), loaded into
+-- memory at startup by TokenRevocationList. Rows past expires_at are purged by the application.
+create sequence if not exists token_revocations_id_seq increment by 50;
+
+create table if not exists token_revocations (
+    id integer primary key,
+    token_id varchar(255),
+    user_id integer not null,
+    revoked_at timestamp,
+    expires_at timestamp
+);
+
+-- A token can be revoked only once; this is what makes a refresh token single-use across instances.
+-- Per-user rows (token_id null) are not affected
+create unique index if not exists idx_token_revocations_token_id on token_revocations (token_id);
+create index if not exists idx_token_revocations_revoked_at on token_revocations (revoked_at);
+create index if not exists idx_token_revocations_expires_at on token_revocations (expires_at);
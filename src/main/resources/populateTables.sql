@@ -6,16 +6,16 @@ truncate table product_review cascade;
 truncate table order_details cascade;
 
 insert into users
-values (1000000, 'tets@gmail.com', 'test', true, false, 'users', '!test123', 'token'),
-	(1000001, 'mickeymouse@example.com', 'Mickey', true, false, 'Mouse', 'pass123', 'token'),
-	(1000002, 'tonythetiger@example.com', 'Tony', false, false, 'Tiger', 'pass123', 'token'),
-	(1000003, 'wirtualtm@example.com', 'Wirtual', false, true, 'TM', 'pass123', 'token'),
-	(1000004, 'nameynamenson@example.com', 'Namey', true, true, 'Namenson', 'pass123', 'token'),
-	(1000005, 'profile@test.com', 'Profile', true, false, 'Test', 'ProfileTest!', 'token'),
-	(1000006, 'testymctesterson@gmail.com', 'Testy', true, false, 'McTesterson', 'Abcdef1!', 'token'),
-	(1000007, 'testymctesterson221205@gmail.com', 'Testy', true, false, 'McTesterson', 'Abcdef1!', 'token'),
-	(1000008, 'jesterjesterson@example.com', 'Jester', true, false, 'Jesterson', 'pass123', 'token'),
-	(1000009, 'tobedeleted@example.com', 'Tobe', true, false, 'Deleted', 'pass123', 'token');
+values (1000000, 'tets@gmail.com', 'test', true, false, 'users', '!test123', null),
+	(1000001, 'mickeymouse@example.com', 'Mickey', true, false, 'Mouse', 'pass123', null),
+	(1000002, 'tonythetiger@example.com', 'Tony', false, false, 'Tiger', 'pass123', null),
+	(1000003, 'wirtualtm@example.com', 'Wirtual', false, true, 'TM', 'pass123', null),
+	(1000004, 'nameynamenson@example.com', 'Namey', true, true, 'Namenson', 'pass123', null),
+	(1000005, 'profile@test.com', 'Profile', true, false, 'Test', 'ProfileTest!', null),
+	(1000006, 'testymctesterson@gmail.com', 'Testy', true, false, 'McTesterson', 'Abcdef1!', null),
+	(1000007, 'testymctesterson221205@gmail.com', 'Testy', true, false, 'McTesterson', 'Abcdef1!', null),
+	(1000008, 'jesterjesterson@example.com', 'Jester', true, false, 'Jesterson', 'pass123', null),
+	(1000009, 'tobedeleted@example.com', 'Tobe', true, false, 'Deleted', 'pass123', null);
 
 insert into user_payments
 values ('CC1', '1111-2222-3333-4444', '123', '1-1-2030', 1000000),
@@ -57,4 +57,10 @@ values (1000000, 'the apples had brown spots and were over ripe.', 1, 1000000, 1
 	(1000002, 'Pineapples are the best of both the apple and pine worlds!', 5, 1000002, 1000000),
 	(1000003, 'Wow! I didn''t know that I needed this!', 5, 1000003, 1000002),
 	(1000004, 'I love cars!', 5, 1000004, 1000003),
-	(1000005, 'These crocs are rad!', 5, 1000005, 1000004);
\ No newline at end of file
+	(1000005, 'These crocs are rad!', 5, 1000005, 1000004);
+
+select setval('order_details_id_seq', (select max(id) + 50 from order_details));
+select setval('orders_id_seq', (select max(id) + 50 from orders));
+select setval('product_id_seq', (select max(id) + 50 from product));
+select setval('product_review_id_seq', (select max(id) + 50 from product_review));
+select setval('users_id_seq', (select max(id) + 50 from users));
@@ -0,0 +1,60 @@
+package com.revature.advice;
+
+import com.revature.models.Payment;
+import com.revature.repositories.PaymentRepository;
+import com.revature.services.PaymentService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Optional;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MetricsAspectTestSuite {
+
+    SimpleMeterRegistry meterRegistry;
+    PaymentRepository mockPaymentRepository;
+    PaymentService sut;
+
+    @BeforeEach
+    public void testPrep() {
+        meterRegistry = new SimpleMeterRegistry();
+        mockPaymentRepository = mock(PaymentRepository.class);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new PaymentService(mockPaymentRepository, null));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new MetricsAspect(meterRegistry));
+        sut = factory.getProxy();
+    }
+
+    @Test
+    public void test_serviceCall_recordsTimerWithoutException() {
+        Payment payment = new Payment();
+        when(mockPaymentRepository.findById("valid")).thenReturn(Optional.of(payment));
+
+        sut.findPaymentById("valid");
+        sut.findPaymentById("valid");
+
+        Timer timer = meterRegistry.get(MetricsAspect.SERVICE_TIMER)
+                .tags("class", "PaymentService", "method", "findPaymentById", "exception", "none")
+                .timer();
+        Assertions.assertEquals(2, timer.count());
+    }
+
+    @Test
+    public void test_serviceCall_recordsExceptionOutcome() {
+        when(mockPaymentRepository.findById("missing")).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(RuntimeException.class, () -> sut.findPaymentById("missing"));
+
+        Timer timer = meterRegistry.get(MetricsAspect.SERVICE_TIMER)
+                .tags("method", "findPaymentById", "exception", "RuntimeException")
+                .timer();
+        Assertions.assertEquals(1, timer.count());
+    }
+}
@@ -0,0 +1,16 @@
+package com.revature.advice;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class RateLimitAspectTestSuite {
+
+    @Test
+    public void test_retryAfterSeconds_roundsUp() {
+        Assertions.assertEquals(6, RateLimitAspect.retryAfterSeconds(TimeUnit.MILLISECONDS.toNanos(5900)));
+        Assertions.assertEquals(5, RateLimitAspect.retryAfterSeconds(TimeUnit.SECONDS.toNanos(5)));
+        Assertions.assertEquals(1, RateLimitAspect.retryAfterSeconds(1));
+    }
+}
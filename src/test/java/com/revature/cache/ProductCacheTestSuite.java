@@ -0,0 +1,45 @@
+package com.revature.cache;
+
+import com.revature.models.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+public class ProductCacheTestSuite {
+
+    ProductCache sut;
+    Product loaded;
+
+    @BeforeEach
+    public void testPrep() {
+        sut = new ProductCache(100, 60, new SimpleMeterRegistry());
+        loaded = new Product(1, 10, 20.00, "A nice pair of headphones", "img", "Headphones", true);
+    }
+
+    @Test
+    public void test_getAll_snapshotIsUnaffected_byChangesToLoadedEntities() {
+        sut.getAll(() -> Collections.singletonList(loaded));
+
+        // As a later merge in the loading request would
+        loaded.setQuantity(0);
+        loaded.setName("Changed");
+
+        List<Product> snapshot = sut.getAll(Collections::emptyList);
+        Assertions.assertEquals(1, snapshot.size());
+        Assertions.assertEquals(10, snapshot.get(0).getQuantity());
+        Assertions.assertEquals("Headphones", snapshot.get(0).getName());
+    }
+
+    @Test
+    public void test_get_returnsCopies() {
+        sut.get(1, id -> Optional.of(loaded)).get().setActive(false);
+        loaded.setActive(false);
+
+        Assertions.assertTrue(sut.get(1, id -> Optional.empty()).get().isActive());
+    }
+}
@@ -0,0 +1,82 @@
+package com.revature.config;
+
+import com.revature.advice.CurrentUserArgumentResolver;
+import com.revature.models.Product;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class WebConfigTestSuite {
+
+    static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    static final MediaType CBOR = MediaType.valueOf("application/cbor");
+
+    List<HttpMessageConverter<?>> converters;
+    Product product = new Product(1, 10, 20.00, "A nice pair of headphones", "img", "Headphones", true);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void testPrep() {
+        ObjectProvider<Jackson2ObjectMapperBuilder> builders = mock(ObjectProvider.class);
+        when(builders.getObject()).thenAnswer(invocation -> new Jackson2ObjectMapperBuilder());
+
+        converters = new ArrayList<>();
+        converters.add(new MappingJackson2HttpMessageConverter());
+        new WebConfig(mock(CurrentUserArgumentResolver.class), builders).extendMessageConverters(converters);
+    }
+
+    @Test
+    public void test_extendMessageConverters_keepsJsonFirst() {
+        Assertions.assertInstanceOf(MappingJackson2HttpMessageConverter.class, converters.get(0));
+        Assertions.assertEquals(3, converters.size());
+    }
+
+    @Test
+    public void test_smileConverter_roundTripsProduct() throws IOException {
+        MappingJackson2SmileHttpMessageConverter smile = find(MappingJackson2SmileHttpMessageConverter.class);
+
+        MockHttpOutputMessage out = new MockHttpOutputMessage();
+        smile.write(product, SMILE, out);
+
+        byte[] body = out.getBodyAsBytes();
+        // Smile documents start with the ":)\n" header
+        Assertions.assertEquals(':', body[0]);
+        Assertions.assertEquals(')', body[1]);
+        Assertions.assertEquals(product, smile.read(Product.class, new MockHttpInputMessage(body)));
+    }
+
+    @Test
+    public void test_cborConverter_roundTripsProduct() throws IOException {
+        MappingJackson2CborHttpMessageConverter cbor = find(MappingJackson2CborHttpMessageConverter.class);
+
+        MockHttpOutputMessage out = new MockHttpOutputMessage();
+        cbor.write(product, CBOR, out);
+
+        Assertions.assertEquals(product, cbor.read(Product.class, new MockHttpInputMessage(out.getBodyAsBytes())));
+    }
+
+    private <T> T find(Class<T> type) {
+        for (HttpMessageConverter<?> converter : converters) {
+            if (type.isInstance(converter)) {
+                return type.cast(converter);
+            }
+        }
+        throw new AssertionError("No " + type.getSimpleName() + " registered");
+    }
+}
@@ -0,0 +1,61 @@
+package com.revature.controllers;
+
+import com.revature.cache.CatalogVersions;
+import com.revature.services.ProductImportService;
+import com.revature.services.ProductService;
+import com.revature.services.StreamingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Collections;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ProductControllerTestSuite {
+
+    CatalogVersions catalogVersions;
+    MockMvc mockMvc;
+
+    @BeforeEach
+    public void testPrep() {
+        catalogVersions = new CatalogVersions();
+        ProductService productService = mock(ProductService.class);
+        when(productService.catalogTag()).thenAnswer(invocation -> catalogVersions.productsTag());
+        when(productService.catalogModifiedAt()).thenAnswer(invocation -> catalogVersions.productsModifiedAt());
+        when(productService.findAll()).thenReturn(Collections.emptyList());
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProductController(productService, mock(ProductImportService.class), mock(StreamingService.class))).build();
+    }
+
+    @Test
+    public void test_getInventory_notModified_givenCurrentLastModified() throws Exception {
+        catalogVersions.productsChanged();
+        String lastModified = lastModified();
+
+        mockMvc.perform(get("/api/product").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    // Last-Modified has whole-second precision; a write in the same second must still invalidate it
+    @Test
+    public void test_getInventory_servesChange_givenWriteInSameSecond() throws Exception {
+        catalogVersions.productsChanged();
+        String lastModified = lastModified();
+        catalogVersions.productsChanged();
+
+        mockMvc.perform(get("/api/product").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isOk());
+    }
+
+    private String lastModified() throws Exception {
+        return mockMvc.perform(get("/api/product"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+    }
+}
@@ -0,0 +1,142 @@
+package com.revature.inventory;
+
+import com.revature.dtos.ProductInfo;
+import com.revature.exceptions.InsufficientStockException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+public class ReservationBookTestSuite {
+
+    static final long MINUTE = 60_000;
+
+    ReservationBook sut;
+    AtomicInteger loads;
+    IntUnaryOperator tenOnHand;
+
+    @BeforeEach
+    public void testPrep() {
+        sut = new ReservationBook(60, new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+        tenOnHand = id -> {
+            loads.incrementAndGet();
+            return 10;
+        };
+    }
+
+    @Test
+    public void test_available_subtractsHolds_andLoadsStockOnce() {
+        sut.hold(1, 7, 3, MINUTE, tenOnHand);
+        sut.hold(2, 7, 4, MINUTE, tenOnHand);
+
+        Assertions.assertEquals(3, sut.available(7, tenOnHand));
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void test_available_keepsNothing_forProductsWithoutStock() {
+        IntUnaryOperator missing = id -> {
+            loads.incrementAndGet();
+            return 0;
+        };
+
+        Assertions.assertEquals(0, sut.available(99, missing));
+        Assertions.assertEquals(0, sut.available(99, missing));
+        Assertions.assertThrows(InsufficientStockException.class, () -> sut.hold(1, 99, 1, MINUTE, missing));
+        Assertions.assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void test_hold_replacesPreviousQuantity() {
+        sut.hold(1, 7, 3, MINUTE, tenOnHand);
+        sut.hold(1, 7, 5, MINUTE, tenOnHand);
+
+        Assertions.assertEquals(5, sut.available(7, tenOnHand));
+        Assertions.assertEquals(1, sut.holdsOf(1).size());
+        Assertions.assertEquals(5, sut.holdsOf(1).get(0).getQuantity());
+    }
+
+    @Test
+    public void test_hold_throws_whenNotEnoughUnheldStock() {
+        sut.hold(1, 7, 8, MINUTE, tenOnHand);
+
+        Assertions.assertThrows(InsufficientStockException.class, () -> sut.hold(2, 7, 3, MINUTE, tenOnHand));
+        Assertions.assertEquals(2, sut.available(7, tenOnHand));
+    }
+
+    @Test
+    public void test_release_returnsUnitsToTheShelf() {
+        sut.hold(1, 7, 4, MINUTE, tenOnHand);
+        sut.release(1, 7);
+
+        Assertions.assertEquals(10, sut.available(7, tenOnHand));
+        Assertions.assertTrue(sut.holdsOf(1).isEmpty());
+    }
+
+    @Test
+    public void test_expireHolds_removesOnlyExpiredHolds() {
+        sut.hold(1, 7, 4, 0, tenOnHand);
+        sut.hold(2, 7, 2, MINUTE, tenOnHand);
+
+        sut.expireHolds();
+
+        Assertions.assertEquals(8, sut.available(7, tenOnHand));
+        Assertions.assertTrue(sut.holdsOf(1).isEmpty());
+        Assertions.assertEquals(1, sut.holdsOf(2).size());
+    }
+
+    @Test
+    public void test_expireHolds_ignoresReplacedHold() {
+        sut.hold(1, 7, 4, 0, tenOnHand);
+        sut.hold(1, 7, 4, MINUTE, tenOnHand);
+
+        sut.expireHolds();
+
+        Assertions.assertEquals(6, sut.available(7, tenOnHand));
+    }
+
+    @Test
+    public void test_claim_usesOwnHold_evenWhenShelfIsEmpty() {
+        sut.hold(1, 7, 4, MINUTE, tenOnHand);
+        sut.hold(2, 7, 6, MINUTE, tenOnHand);
+
+        ReservationBook.Claim claim = sut.claim(1, Collections.singletonList(new ProductInfo(7, 4)), tenOnHand);
+        sut.complete(claim);
+        sut.stockChanged(7, 6);
+
+        Assertions.assertEquals(0, sut.available(7, tenOnHand));
+        Assertions.assertTrue(sut.holdsOf(1).isEmpty());
+        Assertions.assertEquals(1, sut.holdsOf(2).size());
+    }
+
+    @Test
+    public void test_claim_claimsNothing_whenAnyLineIsShort() {
+        sut.hold(2, 8, 9, MINUTE, tenOnHand);
+
+        InsufficientStockException e = Assertions.assertThrows(InsufficientStockException.class,
+                () -> sut.claim(1, Arrays.asList(new ProductInfo(7, 5), new ProductInfo(8, 2)), tenOnHand));
+
+        Assertions.assertTrue(e.getLines().get(0).isSuccess());
+        Assertions.assertFalse(e.getLines().get(1).isSuccess());
+        Assertions.assertEquals(10, sut.available(7, tenOnHand));
+        Assertions.assertEquals(1, sut.available(8, tenOnHand));
+    }
+
+    @Test
+    public void test_abort_restoresHold() {
+        sut.hold(1, 7, 3, MINUTE, tenOnHand);
+
+        ReservationBook.Claim claim = sut.claim(1, Collections.singletonList(new ProductInfo(7, 5)), tenOnHand);
+        Assertions.assertEquals(5, sut.available(7, tenOnHand));
+        sut.abort(claim);
+
+        Assertions.assertEquals(7, sut.available(7, tenOnHand));
+        Assertions.assertEquals(3, sut.holdsOf(1).get(0).getQuantity());
+    }
+}
@@ -0,0 +1,202 @@
+package com.revature.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+
+import javax.mail.internet.MimeMessage;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+public class EmailQueueTestSuite {
+
+    EmailQueue sut;
+    StubMailServer server = new StubMailServer();
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        server.release.countDown();
+        if (sut != null) {
+            sut.shutdown();
+        }
+    }
+
+    @Test
+    public void test_enqueue_deliversInBackground() {
+        sut = queue(10, 3);
+
+        Assertions.assertTrue(sut.enqueue(message("one")));
+        Assertions.assertTrue(sut.enqueue(message("two")));
+
+        await(() -> server.delivered().size() == 2);
+        Assertions.assertTrue(sut.getDeadLetters().isEmpty());
+    }
+
+    @Test
+    public void test_enqueue_retriesAfterFailure() {
+        server.failures.set(1);
+        sut = queue(10, 3);
+
+        sut.enqueue(message("reset"));
+
+        await(() -> server.delivered().size() == 1);
+        Assertions.assertEquals(2, server.calls.get());
+    }
+
+    @Test
+    public void test_enqueue_deadLettersAfterMaxAttempts() {
+        server.failures.set(Integer.MAX_VALUE);
+        sut = queue(10, 3);
+
+        sut.enqueue(message("reset"));
+
+        await(() -> sut.getDeadLetters().size() == 1);
+        Assertions.assertEquals(3, sut.getDeadLetters().get(0).getAttempts());
+        Assertions.assertEquals(3, server.calls.get());
+    }
+
+    @Test
+    public void test_enqueue_deadLettersInsteadOfBlocking_whenQueueIsFull() throws InterruptedException {
+        server.hold = true;
+        sut = queue(1, 3);
+
+        Assertions.assertTrue(sut.enqueue(message("in flight")));
+        Assertions.assertTrue(server.entered.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(sut.enqueue(message("queued")));
+        Assertions.assertFalse(sut.enqueue(message("overflow")));
+
+        Assertions.assertEquals("overflow", sut.getDeadLetters().get(0).getMessage().getSubject());
+    }
+
+    @Test
+    public void test_enqueue_deadLettersBatch_whenSenderFailsUnexpectedly() {
+        server.bug = new IllegalStateException("sender bug");
+        sut = queue(10, 3);
+
+        sut.enqueue(message("reset"));
+
+        await(() -> sut.getDeadLetters().size() == 1);
+        Assertions.assertEquals("reset", sut.getDeadLetters().get(0).getMessage().getSubject());
+    }
+
+    @Test
+    public void test_shutdown_deadLettersPendingRetries() throws InterruptedException {
+        server.failures.set(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        sut = new EmailQueue(server, 10, 1, 5, 3, 60_000, 10, registry);
+
+        sut.enqueue(message("reset"));
+        await(() -> registry.counter("mail.retried").count() == 1);
+        sut.shutdown();
+
+        Assertions.assertEquals(1, sut.getDeadLetters().size());
+        Assertions.assertEquals(1, sut.getDeadLetters().get(0).getAttempts());
+    }
+
+    private EmailQueue queue(int capacity, int maxAttempts) {
+        return new EmailQueue(server, capacity, 1, 5, maxAttempts, 10, 10, new SimpleMeterRegistry());
+    }
+
+    private SimpleMailMessage message(String subject) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo("to@example.com");
+        message.setSubject(subject);
+        message.setText("text");
+        return message;
+    }
+
+    private void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                Assertions.fail("Timed out waiting for the mail queue");
+            }
+            Thread.yield();
+        }
+    }
+
+    // Local stand-in for the SMTP server: records deliveries, can fail the next N calls or hold a call open
+    static class StubMailServer implements JavaMailSender {
+        final AtomicInteger failures = new AtomicInteger();
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<SimpleMailMessage> delivered = Collections.synchronizedList(new ArrayList<>());
+        volatile boolean hold;
+        volatile RuntimeException bug;
+
+        List<SimpleMailMessage> delivered() {
+            synchronized (delivered) {
+                return new ArrayList<>(delivered);
+            }
+        }
+
+        @Override
+        public void send(SimpleMailMessage... simpleMessages) throws MailException {
+            calls.incrementAndGet();
+            if (hold) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (bug != null) {
+                throw bug;
+            }
+            if (failures.getAndDecrement() > 0) {
+                throw new MailSendException("SMTP unavailable");
+            }
+            delivered.addAll(Arrays.asList(simpleMessages));
+        }
+
+        @Override
+        public void send(SimpleMailMessage simpleMessage) throws MailException {
+            send(new SimpleMailMessage[]{simpleMessage});
+        }
+
+        @Override
+        public MimeMessage createMimeMessage() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public MimeMessage createMimeMessage(InputStream contentStream) throws MailException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(MimeMessage mimeMessage) throws MailException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(MimeMessage... mimeMessages) throws MailException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(MimeMessagePreparator mimeMessagePreparator) throws MailException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(MimeMessagePreparator... mimeMessagePreparators) throws MailException {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
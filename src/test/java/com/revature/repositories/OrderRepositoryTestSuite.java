@@ -0,0 +1,63 @@
+package com.revature.repositories;
+
+import com.revature.dtos.OrderResponse;
+import com.revature.models.Order;
+import com.revature.models.Payment;
+import com.revature.models.User;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.sql.Date;
+import java.util.List;
+
+// Runs the OrderResponse constructor queries against an embedded database; mocks never execute the JPQL
+@DataJpaTest
+public class OrderRepositoryTestSuite {
+
+    static final Date FROM = Date.valueOf("2022-01-15");
+    static final Date TO = Date.valueOf("2022-12-31");
+
+    @Autowired
+    TestEntityManager entityManager;
+    @Autowired
+    OrderRepository orderRepository;
+
+    User user;
+
+    @BeforeEach
+    public void testPrep() {
+        user = entityManager.persist(new User(0, "history@example.com", "pass", "first", "last", false, true, null));
+        Payment payment = entityManager.persist(new Payment("CC-history", "0000", "123", Date.valueOf("2030-01-01"), user));
+        entityManager.persist(new Order(0, user, payment, Date.valueOf("2022-01-01"), "address 1"));
+        entityManager.persist(new Order(0, user, payment, Date.valueOf("2022-02-01"), "address 2"));
+        entityManager.persist(new Order(0, user, payment, Date.valueOf("2022-03-01"), "address 3"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void test_findHistory_returnsOrdersInRange_newestFirst() {
+        List<OrderResponse> history = orderRepository.findHistory(user.getId(), FROM, TO);
+
+        Assertions.assertEquals(2, history.size());
+        Assertions.assertEquals("address 3", history.get(0).getShipmentAddress());
+        Assertions.assertEquals(Date.valueOf("2022-03-01"), history.get(0).getOrderDate());
+        Assertions.assertEquals("history@example.com", history.get(0).getUserEmail());
+        Assertions.assertEquals("CC-history", history.get(0).getPaymentId());
+    }
+
+    @Test
+    public void test_findHistoryPage_reportsMore_whenPageIsFull() {
+        Slice<OrderResponse> page = orderRepository.findHistoryPage(user.getId(), FROM, TO, PageRequest.of(0, 1));
+
+        Assertions.assertEquals(1, page.getContent().size());
+        Assertions.assertEquals("address 3", page.getContent().get(0).getShipmentAddress());
+        Assertions.assertTrue(page.hasNext());
+    }
+}
@@ -0,0 +1,46 @@
+package com.revature.security;
+
+import com.revature.annotations.Authorized;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AuthorizationRegistryTestSuite {
+
+    @Test
+    public void test_afterSingletonsInstantiated_readsAuthorizedHandlers() throws NoSuchMethodException {
+        ApplicationContext context = mock(ApplicationContext.class);
+        when(context.getBeanNamesForAnnotation(RestController.class)).thenReturn(new String[]{"securedController"});
+        when(context.getType("securedController")).thenAnswer(invocation -> SecuredController.class);
+        AuthorizationRegistry sut = new AuthorizationRegistry(context);
+
+        sut.afterSingletonsInstantiated();
+
+        Assertions.assertEquals(2, sut.size());
+        AuthorizationRegistry.Requirement admin = sut.requirementFor(SecuredController.class.getMethod("adminOnly"));
+        Assertions.assertTrue(admin.isAdmin());
+        Assertions.assertTrue(admin.isActive());
+        AuthorizationRegistry.Requirement anyAccount = sut.requirementFor(SecuredController.class.getMethod("anyAccount"));
+        Assertions.assertFalse(anyAccount.isAdmin());
+        Assertions.assertFalse(anyAccount.isActive());
+        Assertions.assertNull(sut.requirementFor(SecuredController.class.getMethod("open")));
+    }
+
+    @RestController
+    static class SecuredController {
+        @Authorized(isAdmin = true)
+        public void adminOnly() {
+        }
+
+        @Authorized(isActive = false)
+        public void anyAccount() {
+        }
+
+        public void open() {
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.revature.security;
+
+import com.revature.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class PasswordVerifierTestSuite {
+
+    PasswordVerifier sut;
+    ExecutorService callers = Executors.newCachedThreadPool();
+    CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (sut != null) {
+            sut.shutdown();
+        }
+    }
+
+    @Test
+    public void test_matches_acceptsLegacyPlaintextAndPrefixedHashes() {
+        sut = new PasswordVerifier(new SpringSecurityConfig().passwordEncoder(), 1, 10, 5000, new SimpleMeterRegistry());
+        String bcrypt = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("Abcdef1!");
+
+        Assertions.assertTrue(sut.matches("pass123", "pass123"));
+        Assertions.assertFalse(sut.matches("pass124", "pass123"));
+        Assertions.assertTrue(sut.matches("Abcdef1!", bcrypt));
+        Assertions.assertFalse(sut.matches("wrong", bcrypt));
+        Assertions.assertFalse(sut.matches(null, "pass123"));
+    }
+
+    @Test
+    public void test_matches_rejectsWhenPoolAndQueueAreFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder slowEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        sut = new PasswordVerifier(slowEncoder, 1, 1, 5000, meterRegistry);
+
+        // One check running, one waiting in the queue
+        callers.submit(() -> sut.matches("a", "a"));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> sut.matches("b", "b"));
+        waitForQueueDepth(meterRegistry, 1);
+
+        Assertions.assertThrows(ServiceUnavailableException.class, () -> sut.matches("c", "c"));
+        Assertions.assertEquals(1, meterRegistry.get("auth.hashing.rejected").counter().count());
+    }
+
+    private static void waitForQueueDepth(SimpleMeterRegistry meterRegistry, int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("auth.hashing.queue.size").gauge().value() < depth) {
+            if (System.currentTimeMillis() > deadline) Assertions.fail("Queue never reached depth " + depth);
+            Thread.sleep(10);
+        }
+    }
+}
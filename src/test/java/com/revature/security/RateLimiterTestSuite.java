@@ -0,0 +1,49 @@
+package com.revature.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class RateLimiterTestSuite {
+
+    static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    RateLimiter sut;
+
+    @BeforeEach
+    public void testPrep() {
+        sut = new RateLimiter(1000, 3600, new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void test_tryAcquire_allowsBurstUpToCapacity() {
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(0, sut.tryAcquire("login|1.2.3.4", 3, SECOND, 0));
+        }
+
+        long wait = sut.tryAcquire("login|1.2.3.4", 3, SECOND, 0);
+        Assertions.assertEquals(SECOND, wait);
+    }
+
+    @Test
+    public void test_tryAcquire_refillsOverTime() {
+        for (int i = 0; i < 3; i++) {
+            sut.tryAcquire("login|1.2.3.4", 3, SECOND, 0);
+        }
+
+        Assertions.assertTrue(sut.tryAcquire("login|1.2.3.4", 3, SECOND, SECOND / 2) > 0);
+        Assertions.assertEquals(0, sut.tryAcquire("login|1.2.3.4", 3, SECOND, SECOND));
+        Assertions.assertTrue(sut.tryAcquire("login|1.2.3.4", 3, SECOND, SECOND) > 0);
+    }
+
+    @Test
+    public void test_tryAcquire_keepsClientsSeparate() {
+        sut.tryAcquire("login|1.2.3.4", 1, SECOND, 0);
+
+        Assertions.assertTrue(sut.tryAcquire("login|1.2.3.4", 1, SECOND, 0) > 0);
+        Assertions.assertEquals(0, sut.tryAcquire("login|5.6.7.8", 1, SECOND, 0));
+    }
+}
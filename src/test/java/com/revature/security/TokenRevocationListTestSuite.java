@@ -0,0 +1,84 @@
+package com.revature.security;
+
+import com.revature.exceptions.UnauthorizedException;
+import com.revature.models.TokenRevocation;
+import com.revature.repositories.TokenRevocationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.Date;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TokenRevocationListTestSuite {
+
+    TokenRevocationRepository mockRepository;
+    TokenRevocationList sut;
+
+    @BeforeEach
+    public void testPrep() {
+        mockRepository = mock(TokenRevocationRepository.class);
+        JWTConfig jwtConfig = new JWTConfig();
+        ReflectionTestUtils.setField(jwtConfig, "refreshExpiration", 60_000L);
+        sut = new TokenRevocationList(mockRepository, jwtConfig, null, 1000, 0.001, new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void test_load_restoresPersistedRevocations() {
+        Date later = new Date(System.currentTimeMillis() + 60_000);
+        when(mockRepository.findAllLive(any())).thenReturn(Collections.singletonList(new TokenRevocation("tid-1", 1, new Date(), later)));
+
+        sut.load();
+
+        Assertions.assertTrue(sut.isRevoked("tid-1", 1, 0));
+        Assertions.assertFalse(sut.isRevoked("tid-2", 1, 0));
+    }
+
+    @Test
+    public void test_revokeToken_persistsAndAppliesImmediatelyOutsideTransaction() {
+        sut.revokeToken("tid-1", 1, new Date(System.currentTimeMillis() + 60_000));
+
+        verify(mockRepository).saveAndFlush(any(TokenRevocation.class));
+        Assertions.assertTrue(sut.isRevoked("tid-1", 1, 0));
+        Assertions.assertFalse(sut.isRevoked("tid-2", 2, 0));
+    }
+
+    @Test
+    public void test_revokeToken_throwsUnauthorized_whenAlreadyRevokedElsewhere() {
+        when(mockRepository.saveAndFlush(any(TokenRevocation.class))).thenThrow(new DataIntegrityViolationException("duplicate token_id"));
+
+        Assertions.assertThrows(UnauthorizedException.class,
+                () -> sut.revokeToken("tid-1", 1, new Date(System.currentTimeMillis() + 60_000)));
+    }
+
+    @Test
+    public void test_revokeUser_onlyRevokesTokensIssuedBefore() {
+        long now = System.currentTimeMillis();
+
+        sut.revokeUser(7);
+
+        Assertions.assertTrue(sut.isRevoked("any", 7, now - 1000));
+        Assertions.assertFalse(sut.isRevoked("any", 7, now + 5000));
+        Assertions.assertFalse(sut.isRevoked("any", 8, now - 1000));
+    }
+
+    @Test
+    public void test_sync_picksUpRevocationsFromOtherInstances() {
+        when(mockRepository.findAllLive(any())).thenReturn(Collections.emptyList());
+        sut.load();
+        when(mockRepository.findLiveRevokedSince(any(), any()))
+                .thenReturn(Collections.singletonList(new TokenRevocation("tid-9", 3, new Date(), new Date(System.currentTimeMillis() + 60_000))));
+
+        sut.sync();
+
+        Assertions.assertTrue(sut.isRevoked("tid-9", 3, 0));
+    }
+}
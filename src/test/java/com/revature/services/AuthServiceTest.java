@@ -2,6 +2,7 @@ package com.revature.services;
 
 
 import com.revature.dtos.Principal;
+import com.revature.dtos.TokenPair;
 import com.revature.dtos.UpdateUserRequest;
 import com.revature.exceptions.InvalidTokenException;
 import com.revature.exceptions.InvalidUserInputException;
@@ -9,9 +10,13 @@ import com.revature.exceptions.ResourceNotFoundException;
 import com.revature.exceptions.UnauthorizedException;
 import com.revature.models.User;
 import com.revature.repositories.UserRepository;
+import com.revature.security.PasswordVerifier;
+import com.revature.security.RefreshTokenClaims;
+import com.revature.security.TokenRevocationList;
 import org.hibernate.tool.schema.internal.exec.ScriptTargetOutputToFile;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
@@ -19,6 +24,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Date;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -34,6 +40,8 @@ class AuthServiceTest {
     public static UserRepository userRepository;
     public static SendEmailService sendEmailService;
     public static TokenService tokenService;
+    public static PasswordVerifier passwordVerifier;
+    public static TokenRevocationList tokenRevocationList;
 
     @BeforeEach
     void setUp() {
@@ -42,7 +50,9 @@ class AuthServiceTest {
         tokenService = mock(TokenService.class);
         // userService = new UserService(userRepository);
         userService = mock(UserService.class);
-        authService= new AuthService(userService,sendEmailService,tokenService);
+        passwordVerifier = mock(PasswordVerifier.class);
+        tokenRevocationList = mock(TokenRevocationList.class);
+        authService= new AuthService(userService,sendEmailService,tokenService,passwordVerifier,tokenRevocationList);
     }
 
     @AfterEach
@@ -51,8 +61,49 @@ class AuthServiceTest {
 
     @Test
     void findByCredentials_Test() {
-        authService.findByCredentials("misc", "str");
-        verify(userService, times(1)).findByCredentials(anyString(), anyString());
+        User user = new User();
+        user.setPassword("stored");
+        when(userService.findByEmail("misc")).thenReturn(Optional.of(user));
+        when(passwordVerifier.matches("str", "stored")).thenReturn(true);
+
+        assertEquals(Optional.of(user), authService.findByCredentials("misc", "str"));
+        verify(userService, times(1)).findByEmail("misc");
+        verify(passwordVerifier, times(1)).matches("str", "stored");
+    }
+
+    @Test
+    void findByCredentials_wrongPasswordTest() {
+        User user = new User();
+        user.setPassword("stored");
+        when(userService.findByEmail("misc")).thenReturn(Optional.of(user));
+        when(passwordVerifier.matches("wrong", "stored")).thenReturn(false);
+
+        assertFalse(authService.findByCredentials("misc", "wrong").isPresent());
+    }
+
+    @Test
+    void findByCredentials_unknownEmailTest() {
+        when(userService.findByEmail("nobody")).thenReturn(Optional.empty());
+
+        assertFalse(authService.findByCredentials("nobody", "str").isPresent());
+    }
+
+    @Test
+    void findByCredentials_knownAndUnknownEmailsMakeTheSameCheckTest() {
+        User user = new User();
+        user.setPassword("stored");
+        when(userService.findByEmail("misc")).thenReturn(Optional.of(user));
+        when(userService.findByEmail("nobody")).thenReturn(Optional.empty());
+
+        authService.findByCredentials("misc", "wrong");
+        authService.findByCredentials("nobody", "wrong");
+
+        // One check each, against a value of the same (unprefixed) scheme as the stored passwords
+        ArgumentCaptor<String> stored = ArgumentCaptor.forClass(String.class);
+        verify(passwordVerifier, times(2)).matches(eq("wrong"), stored.capture());
+        assertEquals("stored", stored.getAllValues().get(0));
+        assertFalse(stored.getAllValues().get(1).startsWith("{"));
+        assertNotEquals("stored", stored.getAllValues().get(1));
     }
 
     @Test
@@ -167,4 +218,44 @@ class AuthServiceTest {
         verify(sendEmailService, times(1)).sendEmail(anyString(), anyString(), anyString());
     }
 
+    @Test
+    void refresh_rotatesRefreshTokenTest() {
+        Date expiresAt = new Date();
+        User user = new User(7, "a@b.com", "pass", "first", "last", false, true, null);
+        when(tokenService.extractRefreshTokenDetails("refresh")).thenReturn(new RefreshTokenClaims(7, "tid-1", expiresAt));
+        when(userService.findFreshUserById(7)).thenReturn(user);
+        when(tokenService.generateToken(any(Principal.class))).thenReturn("access2");
+        when(tokenService.generateRefreshToken(any(Principal.class))).thenReturn("refresh2");
+
+        TokenPair tokens = authService.refresh("refresh");
+
+        assertEquals("access2", tokens.getAccessToken());
+        assertEquals("refresh2", tokens.getRefreshToken());
+        verify(tokenRevocationList, times(1)).revokeToken("tid-1", 7, expiresAt);
+    }
+
+    @Test
+    void refresh_alreadyUsedTokenTest() {
+        User user = new User(7, "a@b.com", "pass", "first", "last", false, true, null);
+        Date expiresAt = new Date();
+        when(tokenService.extractRefreshTokenDetails("refresh")).thenReturn(new RefreshTokenClaims(7, "tid-1", expiresAt));
+        when(userService.findFreshUserById(7)).thenReturn(user);
+        doThrow(new UnauthorizedException("Token has already been used")).when(tokenRevocationList).revokeToken("tid-1", 7, expiresAt);
+
+        assertThrows(UnauthorizedException.class, () -> authService.refresh("refresh"));
+        verify(tokenService, never()).generateToken(any(Principal.class));
+        verify(tokenService, never()).generateRefreshToken(any(Principal.class));
+    }
+
+    @Test
+    void refresh_inactiveUserTest() {
+        User user = new User(7, "a@b.com", "pass", "first", "last", false, false, null);
+        when(tokenService.extractRefreshTokenDetails("refresh")).thenReturn(new RefreshTokenClaims(7, "tid-1", new Date()));
+        when(userService.findFreshUserById(7)).thenReturn(user);
+
+        assertThrows(UnauthorizedException.class, () -> authService.refresh("refresh"));
+        verify(tokenRevocationList, never()).revokeToken(anyString(), anyInt(), any());
+        verify(tokenService, never()).generateToken(any(Principal.class));
+    }
+
 }
\ No newline at end of file
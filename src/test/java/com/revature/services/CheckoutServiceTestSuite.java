@@ -0,0 +1,86 @@
+package com.revature.services;
+
+import com.revature.dtos.CheckoutRequest;
+import com.revature.dtos.CheckoutResponse;
+import com.revature.dtos.ProductInfo;
+import com.revature.dtos.PurchaseLineResult;
+import com.revature.exceptions.InsufficientStockException;
+import com.revature.exceptions.UnauthorizedException;
+import com.revature.models.Order;
+import com.revature.models.OrderDetail;
+import com.revature.models.Payment;
+import com.revature.models.Product;
+import com.revature.models.User;
+import com.revature.repositories.OrderDetailRepository;
+import com.revature.repositories.OrderRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+public class CheckoutServiceTestSuite {
+
+    CheckoutService sut;
+    OrderRepository mockOrderRepository;
+    OrderDetailRepository mockOrderDetailRepository;
+    ProductService mockProductService;
+    PaymentService mockPaymentService;
+
+    User validUser = new User(1, "valid", "valid", "valid", "valid", true, true, "");
+    Payment validPayment = new Payment("CC1", "0000", "Visa", new Date(2000, 12, 12), validUser);
+
+    @BeforeEach
+    public void testPrep() {
+        mockOrderRepository = mock(OrderRepository.class);
+        mockOrderDetailRepository = mock(OrderDetailRepository.class);
+        mockProductService = mock(ProductService.class);
+        mockPaymentService = mock(PaymentService.class);
+        sut = new CheckoutService(mockOrderRepository, mockOrderDetailRepository, mockProductService, mockPaymentService);
+    }
+
+    @Test
+    public void test_checkout_savesOrderAndAllLinesTogether() {
+        List<ProductInfo> lines = Arrays.asList(new ProductInfo(1, 2), new ProductInfo(2, 1));
+        when(mockPaymentService.findPaymentById("CC1")).thenReturn(validPayment);
+        when(mockProductService.purchase(lines, 1)).thenReturn(Arrays.asList(
+                new Product(1, 8, 1, "valid", "valid", "apple", true),
+                new Product(2, 4, 1, "valid", "valid", "orange", true)));
+
+        CheckoutResponse response = sut.checkout(new CheckoutRequest("CC1", "address", lines), validUser);
+
+        verify(mockOrderRepository, times(1)).save(any(Order.class));
+        verify(mockOrderDetailRepository, times(1)).saveAll(anyList());
+        verify(mockOrderDetailRepository, never()).save(any(OrderDetail.class));
+        Assertions.assertEquals("valid", response.getOrder().getUserEmail());
+        Assertions.assertEquals(2, response.getLines().size());
+        Assertions.assertEquals(2, response.getLines().get(1).getProductId());
+    }
+
+    @Test
+    public void test_checkout_writesNothing_whenStockIsShort() {
+        List<ProductInfo> lines = Collections.singletonList(new ProductInfo(1, 99));
+        when(mockPaymentService.findPaymentById("CC1")).thenReturn(validPayment);
+        when(mockProductService.purchase(lines, 1)).thenThrow(
+                new InsufficientStockException(Collections.singletonList(new PurchaseLineResult(1, 99, false))));
+
+        Assertions.assertThrows(InsufficientStockException.class,
+                () -> sut.checkout(new CheckoutRequest("CC1", "address", lines), validUser));
+        verifyNoInteractions(mockOrderRepository, mockOrderDetailRepository);
+    }
+
+    @Test
+    public void test_checkout_rejectsSomeoneElsesPayment() {
+        User otherUser = new User(2, "other", "other", "other", "other", true, true, "");
+        when(mockPaymentService.findPaymentById("CC1")).thenReturn(new Payment("CC1", "0000", "Visa", new Date(2000, 12, 12), otherUser));
+
+        Assertions.assertThrows(UnauthorizedException.class,
+                () -> sut.checkout(new CheckoutRequest("CC1", "address", Collections.singletonList(new ProductInfo(1, 1))), validUser));
+        verifyNoInteractions(mockProductService, mockOrderRepository, mockOrderDetailRepository);
+    }
+}
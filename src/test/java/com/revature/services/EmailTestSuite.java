@@ -2,7 +2,11 @@ package com.revature.services;
 
 
 
+import com.revature.cache.CatalogVersions;
+import com.revature.cache.UserCache;
+import com.revature.security.TokenRevocationList;
 import com.revature.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -22,7 +26,7 @@ public class EmailTestSuite {
     @BeforeAll
     static void init(){
         userRepository = mock(UserRepository.class);
-        userService = new UserService(userRepository);
+        userService = new UserService(userRepository, new UserCache(100, 30, new SimpleMeterRegistry()), mock(TokenRevocationList.class), new CatalogVersions());
     }
 
     @Test
@@ -3,6 +3,8 @@ package com.revature.services;
 import com.revature.dtos.CreateOrderRequest;
 import com.revature.dtos.OrderDetailRequest;
 import com.revature.dtos.OrderDetailResponse;
+import com.revature.dtos.OrderSummaryResponse;
+import com.revature.exceptions.ResourceNotFoundException;
 import com.revature.models.*;
 import com.revature.repositories.OrderDetailRepository;
 import com.revature.repositories.OrderRepository;
@@ -16,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
 import java.sql.Date;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -69,7 +72,7 @@ public class OrderDetailServiceTestSuite {
     @Test
     public void test_find_all() {
         sut.findAll();
-        verify(orderDetailRepository, times(2)).findAll();
+        verify(orderDetailRepository, times(1)).findAll();
     }
 
     @Test
@@ -109,4 +112,31 @@ public class OrderDetailServiceTestSuite {
 
 
 
+    @Test
+    public void test_findOrderSummary_computesLineAndOrderTotals(){
+        User validUser = new User(7, "valid", "valid", "valid", "valid", true, true, "");
+        Payment validPayment = new Payment("1", "0000", "Visa", new Date(2000,12,12), validUser);
+        Order validOrder = new Order(70, validUser, validPayment, new Date(2000,12,12), "valid");
+        List<OrderDetail> lines = Arrays.asList(
+                new OrderDetail(1, validOrder, new Product(1, 5, 2.5, "valid", "valid", "apple", true), 2),
+                new OrderDetail(2, validOrder, new Product(2, 5, 10.99, "valid", "valid", "lamp", true), 1));
+        when(orderDetailRepository.findOwnedOrderLines(70, 7)).thenReturn(lines);
+
+        OrderSummaryResponse summary = sut.findOrderSummary(70, validUser);
+
+        Assertions.assertEquals(70, summary.getOrder().getOrderId());
+        Assertions.assertEquals(3, summary.getItemCount());
+        Assertions.assertEquals(0, new BigDecimal("5.0").compareTo(summary.getLines().get(0).getLineTotal()));
+        Assertions.assertEquals(0, new BigDecimal("15.99").compareTo(summary.getTotal()));
+        verify(orderDetailRepository, times(1)).findOwnedOrderLines(70, 7);
+    }
+
+    @Test
+    public void test_findOrderSummary_throwsResourceNotFound_forSomeoneElsesOrder(){
+        User otherUser = new User(8, "valid", "valid", "valid", "valid", true, true, "");
+        when(orderDetailRepository.findOwnedOrderLines(71, 8)).thenReturn(new ArrayList<>());
+
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> sut.findOrderSummary(71, otherUser));
+    }
+
 }
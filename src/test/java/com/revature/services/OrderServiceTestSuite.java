@@ -2,7 +2,9 @@ package com.revature.services;
 
 import com.revature.dtos.CreateOrderRequest;
 import com.revature.dtos.EditOrderRequest;
+import com.revature.dtos.OrderHistoryPageResponse;
 import com.revature.dtos.OrderResponse;
+import com.revature.exceptions.InvalidUserInputException;
 import com.revature.exceptions.ResourceNotFoundException;
 import com.revature.exceptions.UnauthorizedException;
 import com.revature.models.Order;
@@ -14,9 +16,12 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.context.config.ConfigDataResourceNotFoundException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
 import javax.annotation.meta.When;
 import java.sql.Date;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -49,12 +54,13 @@ public class OrderServiceTestSuite {
         Order validOrder = spy(new Order(1, validUser, validPayment, new Date(2000,12,12), "valid"));
 
 
-        List<Order> orders = new ArrayList<>();
-        orders.add(validOrder);
-        when(mockOrderRepository.findAll()).thenReturn(orders);
+        List<OrderResponse> orders = new ArrayList<>();
+        orders.add(new OrderResponse(validOrder));
+        when(mockOrderRepository.findAllResponses()).thenReturn(orders);
 
-        sut.findAll();
-        verify(mockOrderRepository, times(1)).findAll();
+        Assertions.assertEquals(orders, sut.findAll());
+        verify(mockOrderRepository, times(1)).findAllResponses();
+        verify(mockOrderRepository, never()).findAll();
     }
 
 
@@ -62,12 +68,32 @@ public class OrderServiceTestSuite {
     @Test
     public void test_findAll_UserOrders() {
 
-            List<Order> orders = new ArrayList<>();
             sut.findAllUserOrders(new User());
-            verify(mockOrderRepository, times(1)).findByUserId(new User());
+            verify(mockOrderRepository, times(1)).findHistory(eq(0), any(Date.class), any(Date.class));
 
     }
 
+    @Test
+    public void test_findUserOrderPage_clampsSizeAndFiltersDates() {
+        User validUser = new User(1, "valid", "valid", "valid", "valid", true, true, "");
+        LocalDate from = LocalDate.of(2023, 1, 1);
+        LocalDate to = LocalDate.of(2023, 1, 31);
+        when(mockOrderRepository.findHistoryPage(eq(1), eq(Date.valueOf(from)), eq(Date.valueOf(to)), eq(PageRequest.of(2, OrderService.MAX_PAGE_SIZE))))
+                .thenReturn(new SliceImpl<>(new ArrayList<>(), PageRequest.of(2, OrderService.MAX_PAGE_SIZE), false));
+
+        OrderHistoryPageResponse page = sut.findUserOrderPage(validUser, from, to, 2, 1000);
+
+        Assertions.assertEquals(2, page.getPage());
+        Assertions.assertEquals(OrderService.MAX_PAGE_SIZE, page.getSize());
+        Assertions.assertFalse(page.isHasMore());
+    }
+
+    @Test
+    public void test_findUserOrderPage_rejectsInvertedRange() {
+        Assertions.assertThrows(InvalidUserInputException.class, () -> sut.findUserOrderPage(new User(), LocalDate.of(2023, 2, 1), LocalDate.of(2023, 1, 1), 0, 20));
+        verifyNoInteractions(mockOrderRepository);
+    }
+
     @Test
     public void test_findById_returnOrderResponse_givenValidId(){
         User validUser = spy(new User(1, "valid", "valid", "valid", "valid", true, true, ""));
@@ -0,0 +1,104 @@
+package com.revature.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.catalog.ProductFileFormat;
+import com.revature.dtos.ProductImportResponse;
+import com.revature.exceptions.InvalidUserInputException;
+import com.revature.models.Product;
+import com.revature.repositories.ProductRepository;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.*;
+
+public class ProductImportServiceTestSuite {
+
+    ProductImportService sut;
+    ProductRepository mockProductRepository;
+    ProductService mockProductService;
+    EntityManager mockEntityManager;
+
+    @BeforeEach
+    public void testPrep() {
+        mockProductRepository = mock(ProductRepository.class);
+        mockProductService = mock(ProductService.class);
+        mockEntityManager = mock(EntityManager.class);
+        when(mockEntityManager.unwrap(Session.class)).thenReturn(mock(Session.class));
+        sut = new ProductImportService(mockProductRepository, mockProductService, mockEntityManager,
+                mock(PlatformTransactionManager.class), new ObjectMapper(), 2);
+    }
+
+    @Test
+    public void test_importCsv_upsertsInBatches_andReportsBadLines() throws IOException {
+        Product existing = new Product(5, 1, 1.0, "old", "old", "old", true);
+        when(mockProductRepository.findAllById(Collections.singletonList(5))).thenReturn(Collections.singletonList(existing));
+
+        ProductImportResponse result = sut.importProducts(body(
+                "name,price,quantity,id,description\n" +
+                "Lamp,10.99,3,,\"Bright, warm light\"\n" +
+                "Apple,2,15,5,\n" +
+                "Broken,-1,1,,\n" +
+                "Ghost,1,1,9,\n"), ProductFileFormat.CSV);
+
+        Assertions.assertEquals(1, result.getCreated());
+        Assertions.assertEquals(1, result.getUpdated());
+        Assertions.assertEquals(2, result.getRejected());
+        Assertions.assertEquals(4, result.getErrors().get(0).getLine());
+        Assertions.assertEquals(5, result.getErrors().get(1).getLine());
+        Assertions.assertEquals("Apple", existing.getName());
+        Assertions.assertEquals(15, existing.getQuantity());
+        verify(mockEntityManager, times(2)).clear();
+        verify(mockProductService, times(2)).refreshAll(anyList());
+    }
+
+    @Test
+    public void test_importNdjson_rejectsMalformedLines() throws IOException {
+        ProductImportResponse result = sut.importProducts(body(
+                "{\"name\":\"Crocs\",\"price\":5.99,\"quantity\":1}\n" +
+                "{\"name\":\n"), ProductFileFormat.NDJSON);
+
+        Assertions.assertEquals(1, result.getCreated());
+        Assertions.assertEquals(1, result.getRejected());
+        Assertions.assertEquals(2, result.getErrors().get(0).getLine());
+        verify(mockProductRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    public void test_importCsv_throwsInvalidUserInput_givenHeaderWithoutPrice() {
+        Assertions.assertThrows(InvalidUserInputException.class,
+                () -> sut.importProducts(body("name,quantity\nLamp,3\n"), ProductFileFormat.CSV));
+        verifyNoInteractions(mockProductRepository);
+    }
+
+    @Test
+    public void test_exportCsv_writesHeaderAndEscapedRows() {
+        Product product = new Product(1, 3, 10.99, "Bright, \"warm\" light", "img", "Lamp", true);
+        when(mockProductRepository.streamAll()).thenReturn(Stream.of(product));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        sut.exportProducts(out, ProductFileFormat.CSV);
+
+        List<String> lines = Arrays.asList(new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n"));
+        Assertions.assertEquals("id,name,description,image,price,quantity,active", lines.get(0));
+        Assertions.assertEquals("1,Lamp,\"Bright, \"\"warm\"\" light\",img,10.99,3,true", lines.get(1));
+        verify(mockEntityManager, times(1)).detach(product);
+    }
+
+    private InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
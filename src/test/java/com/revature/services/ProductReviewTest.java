@@ -1,15 +1,24 @@
 package com.revature.services;
 
 
+import com.revature.cache.CatalogVersions;
+import com.revature.cache.ProductCache;
+import com.revature.cache.ProductRatingAggregates;
+import com.revature.cache.UserCache;
+import com.revature.security.TokenRevocationList;
+import com.revature.dtos.ProductReviewPageResponse;
 import com.revature.dtos.ProductReviewRequest;
 import com.revature.dtos.ProductReviewResponse;
 import com.revature.dtos.UserResponse;
+import com.revature.exceptions.InvalidUserInputException;
 import com.revature.models.Product;
 import com.revature.models.ProductReview;
 import com.revature.models.User;
 import com.revature.repositories.ProductRepository;
+import com.revature.search.ProductSearchIndex;
 import com.revature.repositories.ProductReviewRepository;
 import com.revature.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +28,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -79,11 +92,11 @@ class ProductReviewTest {
     private ProductReviewResponse  productReviewResponseMock1 = new ProductReviewResponse(999,5,"Valid",999,new UserResponse(userValidMock1));
     @BeforeEach
     public void setUp(){
-        userService=new UserService(userRepository);
+        userService=new UserService(userRepository, new UserCache(100, 30, new SimpleMeterRegistry()), mock(TokenRevocationList.class), new CatalogVersions());
 
-        productService= new ProductService(productRepository);
+        productService= new ProductService(productRepository, new ProductCache(100, 60, new SimpleMeterRegistry()), new ProductSearchIndex(), new CatalogVersions(), mock(ReservationService.class));
 
-        productReviewService= new ProductReviewService(productReviewRepository,userService,productService);
+        productReviewService= new ProductReviewService(productReviewRepository,userService,productService,new ProductRatingAggregates(), new CatalogVersions());
     }
 
     @AfterEach
@@ -95,13 +108,35 @@ class ProductReviewTest {
     @Test
     public void findAllProductReviews(){
         //When
-        when(productReviewRepository.findAll()).thenReturn(productReviewMock);
+        when(productReviewRepository.findAllWithAuthors()).thenReturn(productReviewMock);
         //Action
         List<ProductReviewResponse> productReviews = productReviewService.findAll();
-        verify(productReviewRepository,times(1)).findAll();
+        verify(productReviewRepository,times(1)).findAllWithAuthors();
         assertEquals(productReviewMock.size(), productReviews.size());
     }
 
+    @DisplayName("Find a page of product reviews sorted by highest rating")
+    @Test
+    public void findPageByProductIdHighest(){
+        //Given
+        Pageable expected = PageRequest.of(1, 2, Sort.by(Sort.Order.desc("rating"), Sort.Order.desc("id")));
+        when(productReviewRepository.findPageByProductId(999, expected))
+                .thenReturn(new SliceImpl<>(productReviewMock.subList(0, 2), expected, true));
+        //Then
+        ProductReviewPageResponse page = productReviewService.findPageByProductId(999, 1, 2, "Highest");
+        assertEquals(2, page.getReviews().size());
+        assertEquals("highest", page.getSort());
+        assertEquals(1, page.getPage());
+        assertTrue(page.isHasMore());
+    }
+
+    @DisplayName("Reject unknown review sort")
+    @Test
+    public void findPageRejectsUnknownSort(){
+        assertThrows(InvalidUserInputException.class, () -> productReviewService.findPage(0, 20, "random"));
+        verifyNoInteractions(productReviewRepository);
+    }
+
     @DisplayName("Find product reviews by id")
     @Test
     public void findProductReviewById(){
@@ -141,11 +176,51 @@ class ProductReviewTest {
     @Test
     public void findProductAverageScore(){
         //When
-        when(productReviewRepository.findProductAverageScore(999)).thenReturn(Arrays.asList(4,6));
+        ProductRatingAggregates aggregates = new ProductRatingAggregates();
+        aggregates.record(999, 4);
+        aggregates.record(999, 5);
+        productReviewService = new ProductReviewService(productReviewRepository,userService,productService,aggregates,new CatalogVersions());
         //Then
         int productAvg = productReviewService.findProductAverageScore(999);
-        verify(productReviewRepository, times(1)).findProductAverageScore(999);
-        assertEquals(productAvg, 5);
+        verifyNoInteractions(productReviewRepository);
+        assertEquals(productAvg, 4);
+        assertEquals(2, productReviewService.findProductRatingStats(999).getReviewCount());
+    }
+
+    @DisplayName("Rating aggregates follow deletes")
+    @Test
+    public void deleteRemovesRatingFromAggregates(){
+        ProductRatingAggregates aggregates = new ProductRatingAggregates();
+        aggregates.record(999, 5);
+        aggregates.record(999, 1);
+        productReviewService = new ProductReviewService(productReviewRepository,userService,productService,aggregates,new CatalogVersions());
+        ProductReview review = new ProductReview();
+        review.setPostId(new Product(999, 1, 1.0, "", "", "", true));
+        review.setRating(1);
+        when(productReviewRepository.findById(7)).thenReturn(Optional.of(review));
+
+        productReviewService.deleteById(7);
+
+        verify(productReviewRepository, times(1)).deleteById(7);
+        assertEquals(5, productReviewService.findProductAverageScore(999));
+    }
+
+    @DisplayName("Review tags change only for the product whose reviews changed")
+    @Test
+    public void deleteChangesReviewTags(){
+        ProductReview review = new ProductReview();
+        review.setPostId(new Product(999, 1, 1.0, "", "", "", true));
+        review.setRating(4);
+        when(productReviewRepository.findById(7)).thenReturn(Optional.of(review));
+        String productTag = productReviewService.reviewsTag(999);
+        String otherTag = productReviewService.reviewsTag(998);
+        String allTag = productReviewService.reviewsTag();
+
+        productReviewService.deleteById(7);
+
+        assertNotEquals(productTag, productReviewService.reviewsTag(999));
+        assertNotEquals(allTag, productReviewService.reviewsTag());
+        assertEquals(otherTag, productReviewService.reviewsTag(998));
     }
     @DisplayName("Find product by score")
     @Test
@@ -1,28 +1,42 @@
 package com.revature.services;
 
+import com.revature.cache.CatalogVersions;
+import com.revature.cache.ProductCache;
 import com.revature.dtos.ProductInfo;
+import com.revature.dtos.ProductPageResponse;
+import com.revature.dtos.PurchaseLineResult;
+import com.revature.exceptions.InsufficientStockException;
+import com.revature.exceptions.InvalidUserInputException;
 import com.revature.models.Product;
 import com.revature.repositories.ProductRepository;
+import com.revature.search.ProductSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.Mockito.*;
 
 public class ProductServiceTestSuite {
 
     public ProductService sut;
     public ProductRepository mockProductRepository;
+    public ReservationService mockReservationService;
 
     @BeforeEach
     public  void testPrep(){
         mockProductRepository = mock(ProductRepository.class);
-        sut = new ProductService(mockProductRepository);
+        mockReservationService = mock(ReservationService.class);
+        sut = new ProductService(mockProductRepository, new ProductCache(100, 60, new SimpleMeterRegistry()), new ProductSearchIndex(), new CatalogVersions(), mockReservationService);
     }
 
     @Test
@@ -65,6 +79,59 @@ public class ProductServiceTestSuite {
         verify(mockProductRepository, times(1)).findActiveById(anyInt());
     }
 
+    @Test
+    public void test_findById_servesRepeatedLookupsFromCache(){
+        Product newProduct = new Product(1,
+                10,
+                20.00,
+                "A nice pair of headphones",
+                "https://i.insider.com/54eb437f6bb3f7697f85da71?width=1000&format=jpeg&auto=webp",
+                "Headphones",
+                true);
+
+        when(mockProductRepository.findActiveById(eq(1))).thenReturn(Optional.of(newProduct));
+
+        sut.findById(1).get().setQuantity(0);
+        Product returnedProduct = sut.findById(1).get();
+
+        Assertions.assertEquals(10, returnedProduct.getQuantity());
+        verify(mockProductRepository, times(1)).findActiveById(anyInt());
+    }
+
+    @Test
+    public void test_save_invalidatesCachedProduct(){
+        Product newProduct = new Product(1,
+                10,
+                20.00,
+                "A nice pair of headphones",
+                "https://i.insider.com/54eb437f6bb3f7697f85da71?width=1000&format=jpeg&auto=webp",
+                "Headphones",
+                true);
+
+        when(mockProductRepository.findActiveById(eq(1))).thenReturn(Optional.of(newProduct));
+        when(mockProductRepository.save(newProduct)).thenReturn(newProduct);
+
+        sut.findById(1);
+        sut.save(newProduct);
+        sut.findById(1);
+
+        verify(mockProductRepository, times(2)).findActiveById(anyInt());
+    }
+
+    @Test
+    public void test_save_changesCatalogTag(){
+        Product newProduct = new Product(1, 10, 20.00, "valid", "valid", "Headphones", true);
+        when(mockProductRepository.save(newProduct)).thenReturn(newProduct);
+
+        String before = sut.catalogTag();
+        Assertions.assertEquals(before, sut.catalogTag());
+        sut.save(newProduct);
+
+        Assertions.assertNotEquals(before, sut.catalogTag());
+        verify(mockProductRepository, times(1)).save(newProduct);
+        verifyNoMoreInteractions(mockProductRepository);
+    }
+
     @Test
     public void test_findByKeyword_returnsListOfProducts_givenValidKeyword(){
         List<Product> products = new ArrayList<>();
@@ -87,14 +154,49 @@ public class ProductServiceTestSuite {
         products.add(bag);
         products.add(baseballCap);
 
-        when(mockProductRepository.findByKeyword(eq("ba"))).thenReturn(products);
+        when(mockProductRepository.saveAll(products)).thenReturn(products);
+        sut.saveAll(products, new ArrayList<>());
 
         List<Product> result = sut.findByKeyword("ba");
         for(Product p : result){
             Assertions.assertInstanceOf(Product.class, p);
         }
 
-        verify(mockProductRepository, times(1)).findByKeyword(anyString());
+        Assertions.assertEquals(2, result.size());
+        verify(mockProductRepository, never()).findAllActive();
+    }
+
+    @Test
+    public void test_search_ranksNameMatchesFirst_givenIndexedProducts(){
+        Product bag = new Product(3,
+                20,
+                2.50,
+                "A reusable shopping bag, fits a cap",
+                "https://images.ctfassets.net/5gvckmvm9289/3BlDoZxSSjqAvv1jBJP7TH/65f9a95484117730ace42abf64e89572/Noissue-x-Creatsy-Tote-Bag-Mockup-Bundle-_4_-2.png",
+                "Shopping Bag",
+                true);
+
+        Product baseballCap = new Product( 4,
+                20,
+                10.00,
+                "A fancy cap for a fancy person",
+                "https://d3o2e4jr3mxnm3.cloudfront.net/Rocket-Vintage-Chill-Cap_66374_1_lg.png",
+                "Baseball Cap",
+                true);
+
+        when(mockProductRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        sut.save(bag);
+        sut.save(baseballCap);
+
+        List<Product> result = sut.search("cap", 10);
+        Assertions.assertEquals(2, result.size());
+        Assertions.assertEquals(4, result.get(0).getId());
+
+        Assertions.assertEquals(1, sut.search("cap", 1).size());
+
+        baseballCap.setActive(false);
+        sut.save(baseballCap);
+        Assertions.assertEquals(1, sut.search("cap", 10).size());
     }
 
     @Test
@@ -151,6 +253,53 @@ public class ProductServiceTestSuite {
         verify(mockProductRepository, times(1)).saveAll(any());
     }
 
+    @Test
+    public void test_purchase_decrementsEachLine_givenEnoughStock(){
+        List<ProductInfo> productInfos = new ArrayList<>();
+        productInfos.add(new ProductInfo(3, 2));
+        productInfos.add(new ProductInfo(4, 1));
+
+        when(mockProductRepository.decrementStock(anyInt(), anyInt())).thenReturn(1);
+        when(mockProductRepository.findAllById(any())).thenReturn(new ArrayList<>());
+
+        sut.purchase(productInfos, 1);
+
+        verify(mockProductRepository, times(1)).decrementStock(3, 2);
+        verify(mockProductRepository, times(1)).decrementStock(4, 1);
+        verify(mockProductRepository, never()).saveAll(any());
+        verify(mockReservationService, times(1)).complete(any());
+    }
+
+    @Test
+    public void test_purchase_skipsTheDatabase_whenHoldsCannotBeClaimed(){
+        List<ProductInfo> productInfos = Collections.singletonList(new ProductInfo(3, 50));
+        when(mockReservationService.claim(1, productInfos)).thenThrow(
+                new InsufficientStockException(Collections.singletonList(new PurchaseLineResult(3, 50, false))));
+
+        Assertions.assertThrows(InsufficientStockException.class, () -> sut.purchase(productInfos, 1));
+
+        verify(mockProductRepository, never()).decrementStock(anyInt(), anyInt());
+    }
+
+    @Test
+    public void test_purchase_reportsFailedLines_givenInsufficientStock(){
+        List<ProductInfo> productInfos = new ArrayList<>();
+        productInfos.add(new ProductInfo(3, 2));
+        productInfos.add(new ProductInfo(4, 50));
+        productInfos.add(new ProductInfo(5, -1));
+
+        when(mockProductRepository.decrementStock(3, 2)).thenReturn(1);
+        when(mockProductRepository.decrementStock(4, 50)).thenReturn(0);
+
+        InsufficientStockException e = Assertions.assertThrows(InsufficientStockException.class, () -> sut.purchase(productInfos, 1));
+
+        Assertions.assertTrue(e.getLines().get(0).isSuccess());
+        Assertions.assertFalse(e.getLines().get(1).isSuccess());
+        Assertions.assertFalse(e.getLines().get(2).isSuccess());
+        verify(mockProductRepository, never()).decrementStock(5, -1);
+        verify(mockReservationService, times(1)).abort(any());
+    }
+
     @Test
     public void test_delete_givenValidInt(){
         Product newProduct = new Product(1,
@@ -162,11 +311,52 @@ public class ProductServiceTestSuite {
                 true);
 
         when(mockProductRepository.findActiveById(eq(1))).thenReturn(Optional.of(newProduct));
-        when(mockProductRepository.save(newProduct)).thenReturn(newProduct);
+        // The cache hands out copies, so the saved product is not the stubbed instance
+        when(mockProductRepository.save(any(Product.class))).then(returnsFirstArg());
 
         sut.delete(1);
 
+        ArgumentCaptor<Product> saved = ArgumentCaptor.forClass(Product.class);
         verify(mockProductRepository, times(1)).findActiveById(anyInt());
-        verify(mockProductRepository, times(1)).save(any());
+        verify(mockProductRepository, times(1)).save(saved.capture());
+        Assertions.assertEquals(Integer.valueOf(1), saved.getValue().getId());
+        Assertions.assertFalse(saved.getValue().isActive());
+    }
+
+    @Test
+    public void test_findPage_returnsNextCursor_whenMoreProductsExist(){
+        List<Product> products = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            products.add(new Product(i, 10, 5.00 * i, "Product " + i, "img", "Product " + i, true));
+        }
+
+        when(mockProductRepository.findActivePageAfterId(eq(0), any(Pageable.class))).thenReturn(products);
+
+        ProductPageResponse page = sut.findPage(null, 2, "id");
+
+        Assertions.assertEquals(2, page.getProducts().size());
+        Assertions.assertTrue(page.isHasMore());
+        Assertions.assertEquals(2, page.getNextCursor());
+    }
+
+    @Test
+    public void test_findPage_seeksPastCursor_givenPriceSort(){
+        Product cursor = new Product(7, 10, 20.00, "A nice pair of headphones", "img", "Headphones", true);
+        List<Product> products = new ArrayList<>();
+        products.add(new Product(8, 10, 25.00, "A fancy cap", "img", "Baseball Cap", true));
+
+        when(mockProductRepository.findById(7)).thenReturn(Optional.of(cursor));
+        when(mockProductRepository.findActivePageAfterPrice(eq(20.00), eq(7), any(Pageable.class))).thenReturn(products);
+
+        ProductPageResponse page = sut.findPage(7, 10, "price");
+
+        Assertions.assertEquals(1, page.getProducts().size());
+        Assertions.assertFalse(page.isHasMore());
+        Assertions.assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void test_findPage_throwsInvalidUserInputException_givenUnknownSort(){
+        Assertions.assertThrows(InvalidUserInputException.class, () -> sut.findPage(null, 10, "rating"));
     }
 }
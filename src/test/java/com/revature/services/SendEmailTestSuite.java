@@ -1,5 +1,7 @@
 package com.revature.services;
 
+import com.revature.mail.EmailQueue;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,7 +9,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -16,7 +20,14 @@ public class SendEmailTestSuite {
     SendEmailService sendEmailService;
 
     @Mock
-    JavaMailSender javaMailSender;
+    EmailQueue emailQueue;
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
 
     @DisplayName("Test send email")
     @Test
@@ -27,11 +38,23 @@ public class SendEmailTestSuite {
         mailMessage.setSubject("subject");
         mailMessage.setText("text");
 
-        doNothing().when(javaMailSender).send(mailMessage);
+        sendEmailService.sendEmail("to", "subject", "text");
+
+        verify(emailQueue, times(1)).enqueue(mailMessage);
+        verifyNoMoreInteractions(emailQueue);
+    }
+
+    @DisplayName("Email sent inside a transaction is queued only after commit")
+    @Test
+    public void testSendEmailWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
 
         sendEmailService.sendEmail("to", "subject", "text");
+        verifyNoInteractions(emailQueue);
 
-        verify(javaMailSender, times(1)).send(mailMessage);
-        verifyNoMoreInteractions(javaMailSender);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        verify(emailQueue, times(1)).enqueue(any(SimpleMailMessage.class));
     }
 }
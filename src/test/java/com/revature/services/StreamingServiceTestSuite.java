@@ -0,0 +1,64 @@
+package com.revature.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revature.dtos.PurchaseLineResult;
+import com.revature.exceptions.InvalidUserInputException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.*;
+
+public class StreamingServiceTestSuite {
+
+    StreamingService sut;
+    EntityManager mockEntityManager;
+
+    @BeforeEach
+    public void testPrep() {
+        mockEntityManager = mock(EntityManager.class);
+        sut = new StreamingService(mockEntityManager, mock(PlatformTransactionManager.class), new ObjectMapper());
+    }
+
+    @Test
+    public void test_stream_json_writesArray() throws IOException {
+        String body = write(sut.stream("json", () -> Stream.of(new PurchaseLineResult(1, 2, true), new PurchaseLineResult(3, 4, false))));
+
+        Assertions.assertEquals("[{\"productId\":1,\"quantity\":2,\"success\":true},{\"productId\":3,\"quantity\":4,\"success\":false}]", body);
+    }
+
+    @Test
+    public void test_stream_ndjson_writesOneValuePerLine() throws IOException {
+        String body = write(sut.stream("NDJSON", () -> Stream.of(new PurchaseLineResult(1, 2, true), new PurchaseLineResult(3, 4, false))));
+
+        Assertions.assertEquals("{\"productId\":1,\"quantity\":2,\"success\":true}\n{\"productId\":3,\"quantity\":4,\"success\":false}", body);
+    }
+
+    @Test
+    public void test_stream_clearsPersistenceContextPeriodically() throws IOException {
+        write(sut.stream("ndjson", () -> IntStream.range(0, 1200).mapToObj(i -> new PurchaseLineResult(i, 1, true))));
+
+        verify(mockEntityManager, times(2)).clear();
+    }
+
+    @Test
+    public void test_stream_throwsInvalidUserInput_givenUnknownFormat() {
+        Assertions.assertThrows(InvalidUserInputException.class, () -> sut.stream("xml", Stream::empty));
+    }
+
+    private String write(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
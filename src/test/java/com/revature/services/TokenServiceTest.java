@@ -12,11 +12,16 @@ import org.mockito.junit.MockitoJUnitRunner;
 import com.revature.exceptions.UnauthorizedException;
 
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.util.Optional;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 //@RunWith(MockitoJUnitRunner.class)
@@ -90,6 +95,24 @@ public class TokenServiceTest {
         }
     }
 
+    @DisplayName("Token Details Resolved Once Per Request")
+    @Test
+    public void extractTokenDetails_parsesTokenOncePerRequest(){
+        String validToken = "valid_token";
+        Principal expectedPrincipal = new Principal(1, "test@example.com", false, true);
+        when(mockTokenValidator.parseToken(validToken)).thenReturn(Optional.of(expectedPrincipal));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            assertEquals(expectedPrincipal, tokenService.extractTokenDetails(validToken));
+            assertEquals(expectedPrincipal, tokenService.extractTokenDetails(validToken));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        verify(mockTokenValidator, times(1)).parseToken(validToken);
+    }
+
     @DisplayName("Token Expiration")
     @Test
     public void getDefaultTokenExpiry(){
@@ -1,5 +1,8 @@
 package com.revature.services;
 
+import com.revature.cache.CatalogVersions;
+import com.revature.cache.UserCache;
+import com.revature.security.TokenRevocationList;
 import com.revature.dtos.RegisterRequest;
 import com.revature.dtos.UpdateUserRequest;
 import com.revature.dtos.UserResponse;
@@ -7,10 +10,12 @@ import com.revature.exceptions.InvalidUserInputException;
 import com.revature.exceptions.ResourceNotFoundException;
 import com.revature.models.User;
 import com.revature.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import java.util.Optional;
@@ -23,6 +28,15 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    @Spy
+    private CatalogVersions catalogVersions = new CatalogVersions();
+
+    @Spy
+    private UserCache userCache = new UserCache(100, 30, new SimpleMeterRegistry());
+
     @Autowired
     @InjectMocks
     private UserService userService;
@@ -46,28 +60,6 @@ class UserServiceTest {
         updateUserRequest = null;
     }
 
-    @Test
-    @DisplayName("Find User By Credentials Test-Positive")
-    public void findByCredentialsPositiveTest() {
-        when(userRepository.findByEmailAndPassword(user1.getEmail(), user1.getPassword())).thenReturn(Optional.of(user1));
-
-        Optional<User> savedUser = userService.findByCredentials("test@gmail.com", "Password123!");
-
-        verify(userRepository, times(1)).findByEmailAndPassword(anyString(),anyString());
-        assertNotNull(savedUser);
-    }
-
-    @Test
-    @DisplayName("Find User By Credentials Test-Negative")
-    public void findByCredentialsNegativeTest() {
-        when(userRepository.findByEmailAndPassword(user1.getEmail(), "wrongPassword")).thenReturn(null);
-
-        Optional<User> savedUser = userService.findByCredentials("test@gmail.com", "wrongPassword");
-
-        verify(userRepository, times(1)).findByEmailAndPassword(anyString(),anyString());
-        assertNull(savedUser);
-    }
-
     @Test
     @DisplayName("Find User By Email Test-Positive")
     public void findByEmailPositiveTest() {
@@ -142,6 +134,7 @@ class UserServiceTest {
     public void resetPasswordTest() {
         userService.resetPassword(user1, "newPassword");
         verify(userRepository, times(1)).save(any());
+        verify(tokenRevocationList, times(1)).revokeUser(user1.getId());
         assertEquals("newPassword", user1.getPassword());
     }
 
@@ -215,6 +208,39 @@ class UserServiceTest {
     }
 
 
+    @Test
+    @DisplayName("Update Password Revokes Tokens Test")
+    public void updatePasswordRevokesTokensTest() {
+        when(userRepository.findById(user1.getId())).thenReturn(Optional.of(user1));
+
+        userService.update(updateUserRequest, user1);
+
+        verify(tokenRevocationList, times(1)).revokeUser(1);
+    }
+
+    @Test
+    @DisplayName("Update Profile Keeps Tokens Test")
+    public void updateProfileKeepsTokensTest() {
+        when(userRepository.findById(user1.getId())).thenReturn(Optional.of(user1));
+
+        userService.update(new UpdateUserRequest("Updated", "New", "update@gmail.com", ""), user1);
+
+        verify(tokenRevocationList, never()).revokeUser(anyInt());
+    }
+
+    @Test
+    @DisplayName("Update User Changes Review Tags Test")
+    public void updateUserChangesReviewTagsTest() {
+        when(userRepository.findById(user1.getId())).thenReturn(Optional.of(user1));
+        String allReviews = catalogVersions.allReviewsTag();
+        String productReviews = catalogVersions.reviewsTag(5);
+
+        userService.update(updateUserRequest, user1);
+
+        assertNotEquals(allReviews, catalogVersions.allReviewsTag());
+        assertNotEquals(productReviews, catalogVersions.reviewsTag(5));
+    }
+
     @Test
     @DisplayName("Update user test- Negative")
     public void updateUserNegativeTest() {
@@ -242,6 +268,7 @@ class UserServiceTest {
 
         verify(userRepository, times(1)).findById(anyInt());
         verify(userRepository, times(1)).deactivateUser(anyInt());
+        verify(tokenRevocationList, times(1)).revokeUser(1);
 
     }
 
@@ -288,6 +315,42 @@ class UserServiceTest {
         assertNotNull(foundUser);
     }
 
+    @Test
+    @DisplayName("Find User By Id Test-Cached")
+    public void findUserByIdCachedTest() {
+        when(userRepository.findById(1)).thenReturn(Optional.of(user1));
+
+        userService.findUserById(user1.getId()).setFirstName("Changed");
+        User foundUser = userService.findUserById(user1.getId());
+
+        verify(userRepository, times(1)).findById(anyInt());
+        assertEquals("Test", foundUser.getFirstName());
+    }
+
+    @Test
+    @DisplayName("Find Fresh User By Id Skips Cache Test")
+    public void findFreshUserByIdTest() {
+        when(userRepository.findById(1)).thenReturn(Optional.of(user1));
+
+        userService.findUserById(user1.getId());
+        userService.findFreshUserById(user1.getId());
+
+        verify(userRepository, times(2)).findById(anyInt());
+    }
+
+    @Test
+    @DisplayName("Update User Evicts Cached User Test")
+    public void updateEvictsCachedUserTest() {
+        when(userRepository.findById(1)).thenReturn(Optional.of(user1));
+
+        userService.findUserById(user1.getId());
+        userService.update(updateUserRequest, user1);
+        User foundUser = userService.findUserById(user1.getId());
+
+        verify(userRepository, times(3)).findById(anyInt());
+        assertEquals("Updated", foundUser.getFirstName());
+    }
+
     @Test
     @DisplayName("Find User By Id Test-Negative")
     public void findUserByIdNegativeTest() {
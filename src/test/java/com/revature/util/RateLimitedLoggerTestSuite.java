@@ -0,0 +1,62 @@
+package com.revature.util;
+
+import com.revature.exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RateLimitedLoggerTestSuite {
+
+    Logger log;
+
+    @BeforeEach
+    public void setUp() {
+        log = mock(Logger.class);
+        when(log.isWarnEnabled()).thenReturn(true);
+    }
+
+    @Test
+    public void test_warn_suppressesLinesPastThePermits() {
+        RateLimitedLogger sut = new RateLimitedLogger(log, 2, 1, TimeUnit.HOURS);
+
+        for (int i = 0; i < 5; i++) {
+            sut.warn("token_rejected", "SignatureException");
+        }
+
+        verify(log, times(2)).warn(anyString(), any(), any(), any());
+        Assertions.assertEquals(3, sut.getSuppressed());
+    }
+
+    @Test
+    public void test_warn_reportsSuppressedCountInNextWindow() {
+        RateLimitedLogger sut = new RateLimitedLogger(log, 1, 1, TimeUnit.MINUTES);
+        long now = System.nanoTime();
+
+        sut.warn("token_rejected", "SignatureException", now);
+        sut.warn("token_rejected", "SignatureException", now);
+        sut.warn("token_rejected", "SignatureException", now);
+        sut.warn("token_rejected", "ExpiredJwtException", now + TimeUnit.MINUTES.toNanos(2));
+
+        verify(log).warn(anyString(), eq("token_rejected"), eq("ExpiredJwtException"), eq(2L));
+        Assertions.assertEquals(0, sut.getSuppressed());
+    }
+
+    @Test
+    public void test_domainExceptions_doNotCaptureStackTraces() {
+        ResourceNotFoundException e = new ResourceNotFoundException("missing");
+
+        Assertions.assertEquals(0, e.getStackTrace().length);
+        Assertions.assertEquals("missing", e.getMessage());
+    }
+}